@@ -0,0 +1,53 @@
+package com.techacademy.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techacademy.constants.ErrorKinds;
+import com.techacademy.service.EmployeeService;
+import com.techacademy.service.UserDetail;
+
+// EmployeeService の従業員削除 (紐づく日報の一括論理削除を含む)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark extends SeededApplication {
+
+    private EmployeeService employeeService;
+    private UserDetail admin;
+
+    private int sequence;
+    private String target;
+
+    @Override
+    protected void prepare() {
+        employeeService = bean(EmployeeService.class);
+        admin = new UserDetail(employeeService.findByCode(adminCode));
+    }
+
+    // 削除対象の従業員を毎回作成 (日報は他の従業員と同じく years 年分)
+    @Setup(Level.Invocation)
+    public void createTarget() {
+        target = String.format("D%06d", ++sequence);
+        insertEmployee(target, "GENERAL");
+        LocalDate to = LocalDate.now().minusDays(1);
+        insertReports(target, to.minusYears(years).plusDays(1), to);
+    }
+
+    @Benchmark
+    public ErrorKinds delete() {
+        return employeeService.delete(target, admin);
+    }
+}
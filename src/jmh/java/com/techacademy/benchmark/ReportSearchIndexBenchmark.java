@@ -0,0 +1,120 @@
+package com.techacademy.benchmark;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techacademy.service.ReportSearchIndex;
+import com.techacademy.service.ReportSearchResult;
+
+// ReportSearchIndex の全文検索 (DBを使わず、想定規模の日報をメモリ上の索引へ直接登録する)
+// 語彙は出現頻度がZipf分布に従う語で、rank は検索語の出現頻度の順位 (1: 最頻出 〜 大: まれな語)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ReportSearchIndexBenchmark {
+
+    // 語彙の数・1件の日報の内容の語数
+    private static final int VOCABULARY = 20000;
+    private static final int WORDS_PER_REPORT = 40;
+    private static final int EMPLOYEES = 1000;
+
+    @Param("1000000")
+    public int reports;
+
+    @Param({ "1", "100", "5000" })
+    public int rank;
+
+    private ReportSearchIndex index;
+    private String[] words;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SplittableRandom random = new SplittableRandom(42);
+        words = vocabulary(random);
+        double[] cumulative = zipf(VOCABULARY);
+
+        index = new ReportSearchIndex(null, null, null, true);
+        LocalDate start = LocalDate.now().minusYears(5);
+        StringBuilder content = new StringBuilder();
+        for (int id = 1; id <= reports; id++) {
+            content.setLength(0);
+            for (int i = 0; i < WORDS_PER_REPORT; i++) {
+                content.append(words[sample(cumulative, random)]).append(i % 10 == 9 ? "。" : "、");
+            }
+            String employeeCode = String.format("E%05d", id % EMPLOYEES);
+            index.index((long) id, employeeCode, "従業員" + employeeCode, start.plusDays(id / EMPLOYEES),
+                    words[sample(cumulative, random)] + "の報告", content.toString());
+        }
+        query = words[rank - 1];
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.out.printf("%n索引: %,d件, ヒープ使用量 %,d MB%n", index.size(),
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+    }
+
+    @Benchmark
+    public ReportSearchResult search() {
+        return index.search(query, null, 0);
+    }
+
+    // 従業員を指定した検索 (一般ユーザー)
+    @Benchmark
+    public ReportSearchResult searchOwnReports() {
+        return index.search(query, "E00001", 0);
+    }
+
+    // 漢字2〜3文字の語 (重複しない)
+    private static String[] vocabulary(SplittableRandom random) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < VOCABULARY) {
+            int length = 2 + random.nextInt(2);
+            StringBuilder word = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                word.append((char) (0x4E00 + random.nextInt(3000)));
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(String[]::new);
+    }
+
+    // 順位 r の語の出現確率が 1/r に比例する累積分布
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int r = 1; r <= size; r++) {
+            sum += 1.0 / r;
+            cumulative[r - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.techacademy.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techacademy.dto.ReportSummary;
+import com.techacademy.entity.Report;
+import com.techacademy.service.ReportService;
+
+// ReportService の日報一覧取得・重複確認・更新
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportServiceBenchmark extends SeededApplication {
+
+    private ReportService reportService;
+    // 日報ごとの現在のバージョン (投入時は0)
+    private int[] reportVersions;
+
+    @Override
+    protected void prepare() {
+        reportService = bean(ReportService.class);
+        reportVersions = new int[reportIds.length];
+    }
+
+    // 管理者の日報一覧 (全従業員分)
+    @Benchmark
+    public List<ReportSummary> findReportsByUserRoleAdmin() {
+        return reportService.findReportsByUserRole(adminCode);
+    }
+
+    // 一般従業員の日報一覧 (自身の分のみ)
+    @Benchmark
+    public List<ReportSummary> findReportsByUserRoleGeneral() {
+        return reportService.findReportsByUserRole(randomGeneralCode());
+    }
+
+    @Benchmark
+    public boolean existsByEmployeeAndDateExcludeCurrent() {
+        int index = ThreadLocalRandom.current().nextInt(reportIds.length);
+        return reportService.existsByEmployeeAndDateExcludeCurrent(randomGeneralCode(), reportDates[index],
+                reportIds[index]);
+    }
+
+    // 日付は変えずにタイトル・内容を更新 (一意制約に抵触しないようにする)
+    @Benchmark
+    public Optional<Report> updateReport() {
+        int index = ThreadLocalRandom.current().nextInt(reportIds.length);
+        Report updated = new Report();
+        updated.setTitle("更新 " + LocalDateTime.now());
+        updated.setContent("更新後の業務内容");
+        updated.setReportDate(reportDates[index]);
+        updated.setVersion(reportVersions[index]++);
+        return reportService.updateReport(reportIds[index], updated);
+    }
+
+    private String randomGeneralCode() {
+        return generalCodes[ThreadLocalRandom.current().nextInt(generalCodes.length)];
+    }
+}
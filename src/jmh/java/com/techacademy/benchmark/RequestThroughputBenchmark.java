@@ -0,0 +1,142 @@
+package com.techacademy.benchmark;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+// 日報一覧画面 (GET /reports) のスループット: プラットフォームスレッドと仮想スレッドの比較
+// 64クライアントが同時にログイン済みのセッションで要求する。DBの往復の遅延は dbLatencyMs で再現する
+// 実行例: -Dbenchmark.args="RequestThroughput -p dbLatencyMs=5 -p poolSize=10,64 -p tomcatThreads=200,16"
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class RequestThroughputBenchmark extends SeededApplication {
+
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    // 仮想スレッドでリクエストを処理するか (spring.threads.virtual.enabled)
+    @Param({ "false", "true" })
+    public boolean virtualThreads;
+
+    // SQLの実行・コミット1回あたりのDBとの往復の遅延 (ミリ秒)
+    @Param("5")
+    public int dbLatencyMs;
+
+    // DB接続プールの最大数 (spring.datasource.hikari.maximum-pool-size)
+    @Param("10")
+    public int poolSize;
+
+    // プラットフォームスレッドの最大数 (server.tomcat.threads.max。仮想スレッドの場合は使われない)
+    @Param("200")
+    public int tomcatThreads;
+
+    private String baseUrl;
+    private final AtomicInteger nextClient = new AtomicInteger();
+    // ログインは1クライアントずつ行う (同時に行うとパスワード照合の待ち行列の上限を超えるため)
+    private final Object loginLock = new Object();
+
+    @Override
+    protected void addArguments(List<String> arguments) {
+        arguments.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        arguments.add("--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        arguments.add("--server.tomcat.threads.max=" + tomcatThreads);
+    }
+
+    @Override
+    protected void configure(SpringApplicationBuilder builder) {
+        if (dbLatencyMs <= 0) {
+            return;
+        }
+        builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                        ? new LatencyDataSource(dataSource, dbLatencyMs)
+                        : bean;
+            }
+        }));
+    }
+
+    @Override
+    protected void prepare() {
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    // クライアント (スレッドごとに別の従業員でログインしたセッションを持つ)
+    @State(Scope.Thread)
+    public static class Client {
+
+        private HttpClient httpClient;
+        private HttpRequest listRequest;
+
+        @Setup(Level.Trial)
+        public void login(RequestThroughputBenchmark application) throws IOException, InterruptedException {
+            synchronized (application.loginLock) {
+                login(application, application.generalCodes[application.nextClient.getAndIncrement()
+                        % application.generalCodes.length]);
+            }
+            listRequest = HttpRequest.newBuilder(URI.create(application.baseUrl + "/reports")).build();
+        }
+
+        private void login(RequestThroughputBenchmark application, String code)
+                throws IOException, InterruptedException {
+            httpClient = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+
+            String loginPage = httpClient.send(HttpRequest.newBuilder(URI.create(application.baseUrl + "/login")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            Matcher token = CSRF_TOKEN.matcher(loginPage);
+            if (!token.find()) {
+                throw new IllegalStateException("CSRFトークンを取得できません");
+            }
+            String form = "username=" + code + "&password=password&_csrf="
+                    + URLEncoder.encode(token.group(1), StandardCharsets.UTF_8);
+            HttpResponse<Void> login = httpClient.send(HttpRequest.newBuilder(URI.create(application.baseUrl + "/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form)).build(), HttpResponse.BodyHandlers.discarding());
+            if (login.statusCode() != 302 || login.headers().firstValue("Location").orElse("").contains("error")) {
+                throw new IllegalStateException("ログインに失敗しました: " + code + " " + login.statusCode() + " "
+                        + login.headers().firstValue("Location").orElse(""));
+            }
+        }
+    }
+
+    @Benchmark
+    public int listReports(Client client) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.httpClient.send(client.listRequest, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /reports: " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
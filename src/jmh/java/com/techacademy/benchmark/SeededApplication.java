@@ -0,0 +1,160 @@
+package com.techacademy.benchmark;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.techacademy.DailyReportSystemApplication;
+
+// ベンチマーク共通の状態: 組み込みH2 (MySQL互換モード) でアプリケーションを起動し、
+// 「従業員数 × 年数分の平日の日報」を投入する
+@State(Scope.Benchmark)
+public abstract class SeededApplication {
+
+    // 投入時のバッチINSERTの件数
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private static final String INSERT_EMPLOYEE_SQL = "INSERT INTO employees (code, name, role, password, delete_flg, version, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, 0, 0, ?, ?)";
+
+    private static final String INSERT_REPORT_SQL = "INSERT INTO reports (report_date, title, content, employee_code, delete_flg, version, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, 0, 0, ?, ?)";
+
+    // 従業員数
+    @Param("100")
+    public int employees;
+
+    // 1従業員あたりの日報の年数
+    @Param("1")
+    public int years;
+
+    protected ConfigurableApplicationContext context;
+    protected JdbcTemplate jdbcTemplate;
+
+    // 管理者の社員番号 (先頭の従業員)
+    protected String adminCode;
+    // 一般従業員の社員番号
+    protected String[] generalCodes;
+    // 投入した日報のIDと日付 (添字が対応)
+    protected long[] reportIds;
+    protected LocalDate[] reportDates;
+
+    private String passwordHash;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // devtools の再起動機能はベンチマークでは使わない
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // セキュリティ設定がWeb環境を前提とするため、組み込みTomcatは空きポートで起動する
+        List<String> arguments = new ArrayList<>(Arrays.asList("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa", "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver", "--spring.sql.init.mode=never",
+                "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                // 起動時の索引作成・集計はH2のストリーミング取得に対応しないため無効にする
+                "--app.search.enabled=false", "--app.statistics.enabled=false",
+                "--app.submission-index.enabled=false", "--app.audit.directory=target/benchmark-audit"));
+        addArguments(arguments);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DailyReportSystemApplication.class)
+                .logStartupInfo(false);
+        configure(builder);
+        context = builder.run(arguments.toArray(new String[0]));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        passwordHash = new BCryptPasswordEncoder(4).encode("password");
+        seed();
+        prepare();
+    }
+
+    // 起動時の引数の追加 (ベンチマークごとの設定)
+    protected void addArguments(List<String> arguments) {
+    }
+
+    // 起動前のアプリケーションの設定 (Beanの差し替えなど)
+    protected void configure(SpringApplicationBuilder builder) {
+    }
+
+    // 投入後の準備 (使用するBeanの取得など)。JMHは同一状態の@Setupの実行順を保証しないため、ここで行う
+    protected void prepare() {
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    protected <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        LocalDate to = LocalDate.now().minusDays(1);
+        LocalDate from = to.minusYears(years).plusDays(1);
+
+        generalCodes = new String[employees - 1];
+        for (int i = 0; i < employees; i++) {
+            String code = String.format("E%06d", i + 1);
+            if (i == 0) {
+                adminCode = code;
+            } else {
+                generalCodes[i - 1] = code;
+            }
+            insertEmployee(code, i == 0 ? "ADMIN" : "GENERAL");
+            insertReports(code, from, to);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, report_date FROM reports ORDER BY id", rs -> {
+            ids.add(rs.getLong(1));
+            dates.add(rs.getDate(2).toLocalDate());
+        });
+        reportIds = ids.stream().mapToLong(Long::longValue).toArray();
+        reportDates = dates.toArray(new LocalDate[0]);
+    }
+
+    // 従業員を1件登録 (パスワードは投入時間を抑えるため低コストのBCryptで作成したもの)
+    protected void insertEmployee(String code, String role) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_EMPLOYEE_SQL, code, "従業員 " + code, role, passwordHash, now, now);
+    }
+
+    // 従業員の日報を from～to の平日分登録
+    protected void insertReports(String code, LocalDate from, LocalDate to) {
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (isWeekend(date)) {
+                continue;
+            }
+            batch.add(new Object[] { Date.valueOf(date), "日報 " + date, code + " の " + date + " の業務内容", code, now,
+                    now });
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_REPORT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REPORT_SQL, batch);
+        }
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+}
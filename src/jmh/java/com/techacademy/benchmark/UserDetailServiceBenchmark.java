@@ -0,0 +1,52 @@
+package com.techacademy.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.techacademy.service.UserDetailCache;
+import com.techacademy.service.UserDetailService;
+
+// UserDetailService のログイン時のユーザー情報取得 (認証キャッシュの有無別)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailServiceBenchmark extends SeededApplication {
+
+    private UserDetailService userDetailService;
+    private UserDetailCache userDetailCache;
+
+    @Override
+    protected void prepare() {
+        userDetailService = bean(UserDetailService.class);
+        userDetailCache = bean(UserDetailCache.class);
+    }
+
+    // キャッシュに載っている場合 (従業員数がキャッシュ上限以下であればウォームアップ後は全件キャッシュ済み)
+    @Benchmark
+    public UserDetails loadUserByUsernameCached() {
+        return userDetailService.loadUserByUsername(randomCode());
+    }
+
+    // キャッシュを無効化してからDBへ問い合わせる場合 (無効化の処理時間を含む)
+    @Benchmark
+    public UserDetails loadUserByUsernameUncached() {
+        String code = randomCode();
+        userDetailCache.invalidate(code);
+        return userDetailService.loadUserByUsername(code);
+    }
+
+    private String randomCode() {
+        return generalCodes[ThreadLocalRandom.current().nextInt(generalCodes.length)];
+    }
+}
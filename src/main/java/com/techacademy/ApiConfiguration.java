@@ -0,0 +1,20 @@
+package com.techacademy;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class ApiConfiguration {
+
+    /** 参照APIの一覧の条件付きGET (応答内容のハッシュを ETag とし、変更がなければ本文を返さない。詳細は更新日時から ETag を設定済み) */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> apiEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true); // 強いETagの応答はgzip圧縮されないため
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/*");
+        return registration;
+    }
+}
@@ -0,0 +1,189 @@
+package com.techacademy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import com.techacademy.SessionTokenCodec.SessionToken;
+import com.techacademy.service.EmployeeService;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// ログイン状態をHTTPセッションではなく暗号化したCookieに保持する (app.session.mode=cookie)
+// Cookieには社員番号・ログイン状態の世代・有効期限のみを入れ、権限などはリクエストごとに UserDetailsService (認証キャッシュ付き) から取得し直す
+// サーバー側にセッションごとの状態を持たないため、どのノードでもログイン状態を復元できる
+// ログアウト時は従業員の世代を進め、それ以前に発行したCookie (複製されたものを含む) を受け付けなくする
+public class CookieSecurityContextRepository implements SecurityContextRepository, LogoutHandler {
+
+    public static final String COOKIE_NAME = "REPORT_SESSION";
+
+    private final SessionTokenCodec codec;
+    private final UserDetailsService userDetailsService;
+    private final EmployeeService employeeService;
+    private final Duration timeout;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    // timeout: 最後にアクセスしてからログイン状態を保持する時間
+    public CookieSecurityContextRepository(SessionTokenCodec codec, UserDetailsService userDetailsService,
+            EmployeeService employeeService, Duration timeout) {
+        this.codec = codec;
+        this.userDetailsService = userDetailsService;
+        this.employeeService = employeeService;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new CookieDeferredSecurityContext(request);
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    // ログイン時はCookieを発行し、ログアウト時 (未認証の状態を保存) は削除する
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || trustResolver.isAnonymous(authentication)) {
+            if (containsContext(request)) {
+                writeCookie(request, response, "", Duration.ZERO);
+            }
+            return;
+        }
+        String employeeCode = authentication.getName();
+        employeeService.findCredentialVersion(employeeCode)
+                .ifPresent(credentialVersion -> issue(employeeCode, credentialVersion, request, response));
+    }
+
+    // ログアウト時: 従業員の世代を進める (Cookieの削除は saveContext で行う)
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        if (authentication != null && !trustResolver.isAnonymous(authentication)) {
+            employeeService.revokeSessions(authentication.getName());
+        }
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return readToken(request).isPresent();
+    }
+
+    // 有効期限の残りが半分を切っていれば、期限を延長したCookieを発行し直す (アクセスのたびには発行しない)
+    // 世代は元のトークンのまま引き継ぐため、ログアウト等で無効になったトークンは延長しても無効のまま
+    public void refresh(HttpServletRequest request, HttpServletResponse response) {
+        readToken(request).ifPresent(token -> {
+            if (Duration.between(Instant.now(), token.getExpiresAt()).compareTo(timeout.dividedBy(2)) < 0) {
+                issue(token.getEmployeeCode(), token.getCredentialVersion(), request, response);
+            }
+        });
+    }
+
+    private void issue(String employeeCode, int credentialVersion, HttpServletRequest request,
+            HttpServletResponse response) {
+        writeCookie(request, response, codec.encode(employeeCode, credentialVersion, Instant.now().plus(timeout)),
+                null);
+    }
+
+    private Optional<SessionToken> readToken(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return Optional.empty();
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return codec.decode(cookie.getValue(), Instant.now());
+            }
+        }
+        return Optional.empty();
+    }
+
+    // トークンの従業員を読み込み直す (削除済みの従業員・世代が異なる場合は未ログイン扱い)
+    // 世代は認証キャッシュ (ノードごと) ではなくDBの値と比較する (他のノードでのログアウト・パスワード変更を即時に反映する)
+    private SecurityContext readContext(HttpServletRequest request) {
+        Optional<SessionToken> token = readToken(request);
+        if (token.isEmpty()) {
+            return null;
+        }
+        Optional<Integer> credentialVersion = employeeService.findCredentialVersion(token.get().getEmployeeCode());
+        if (credentialVersion.isEmpty() || credentialVersion.get() != token.get().getCredentialVersion()) {
+            return null;
+        }
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(token.get().getEmployeeCode());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+        return context;
+    }
+
+    // maxAge: null の場合はブラウザを閉じるまで有効 (有効期限はトークン内で管理する)
+    private void writeCookie(HttpServletRequest request, HttpServletResponse response, String value,
+            Duration maxAge) {
+        String path = request.getContextPath().isEmpty() ? "/" : request.getContextPath();
+        ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(COOKIE_NAME, value).path(path).httpOnly(true)
+                .secure(request.isSecure()).sameSite("Lax");
+        if (maxAge != null) {
+            cookie.maxAge(maxAge);
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.build().toString());
+    }
+
+    // 認証情報が必要になった時点で初めてCookieを復号する
+    private final class CookieDeferredSecurityContext implements DeferredSecurityContext {
+
+        private final HttpServletRequest request;
+        private SecurityContext context;
+        private boolean generated;
+
+        private CookieDeferredSecurityContext(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public SecurityContext get() {
+            load();
+            return context;
+        }
+
+        @Override
+        public boolean isGenerated() {
+            load();
+            return generated;
+        }
+
+        private void load() {
+            if (context != null) {
+                return;
+            }
+            context = readContext(request);
+            if (context == null) {
+                context = SecurityContextHolder.createEmptyContext();
+                generated = true;
+            }
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.techacademy;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 定期処理 (日報テーブルのパーティション作成など)
 public class DailyReportSystemApplication {
 
     public static void main(String[] args) {
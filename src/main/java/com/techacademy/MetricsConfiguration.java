@@ -0,0 +1,85 @@
+package com.techacademy;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.techacademy.service.AuditLog;
+import com.techacademy.service.BoundedPasswordEncoder;
+import com.techacademy.service.ReportReminderJob;
+import com.techacademy.service.UserDetailCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+// アプリケーション独自のメトリクス (HTTP・Hibernate・HikariCP は Spring Boot が自動で登録する)
+@Configuration
+public class MetricsConfiguration {
+
+    // パスワードのハッシュ化用スレッドプールの状況
+    @Bean
+    public MeterBinder passwordEncoderMetrics(BoundedPasswordEncoder encoder) {
+        return registry -> {
+            Gauge.builder("app.password.pool.size", encoder, BoundedPasswordEncoder::getPoolSize).register(registry);
+            Gauge.builder("app.password.queue.depth", encoder, BoundedPasswordEncoder::getQueueDepth).register(registry);
+            Gauge.builder("app.password.active", encoder, BoundedPasswordEncoder::getActiveCount).register(registry);
+            FunctionCounter.builder("app.password.completed", encoder, BoundedPasswordEncoder::getCompletedCount)
+                    .register(registry);
+            FunctionCounter.builder("app.password.rejected", encoder, BoundedPasswordEncoder::getRejectedCount)
+                    .register(registry);
+            FunctionCounter.builder("app.password.hash.seconds", encoder,
+                    e -> e.getHashNanosTotal() / (double) TimeUnit.SECONDS.toNanos(1)).register(registry);
+            Gauge.builder("app.password.hash.max.seconds", encoder,
+                    e -> e.getHashNanosMax() / (double) TimeUnit.SECONDS.toNanos(1)).register(registry);
+            FunctionCounter.builder("app.password.queue.wait.seconds", encoder,
+                    e -> e.getQueueWaitNanosTotal() / (double) TimeUnit.SECONDS.toNanos(1)).register(registry);
+            Gauge.builder("app.password.queue.wait.max.seconds", encoder,
+                    e -> e.getQueueWaitNanosMax() / (double) TimeUnit.SECONDS.toNanos(1)).register(registry);
+        };
+    }
+
+    // 認証キャッシュのヒット率など
+    @Bean
+    public MeterBinder userDetailCacheMetrics(UserDetailCache cache) {
+        return registry -> {
+            Gauge.builder("app.auth.cache.size", cache, UserDetailCache::size).register(registry);
+            FunctionCounter.builder("app.auth.cache.gets", cache, UserDetailCache::getHitCount).tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("app.auth.cache.gets", cache, UserDetailCache::getMissCount).tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("app.auth.cache.evictions", cache, UserDetailCache::getEvictionCount)
+                    .register(registry);
+            FunctionCounter.builder("app.auth.cache.expirations", cache, UserDetailCache::getExpirationCount)
+                    .register(registry);
+            FunctionCounter.builder("app.auth.cache.invalidations", cache, UserDetailCache::getInvalidationCount)
+                    .register(registry);
+        };
+    }
+
+    // 監査ログの書き込み状況 (破棄・書き込み失敗が増えていないか)
+    @Bean
+    public MeterBinder auditLogMetrics(AuditLog auditLog) {
+        return registry -> {
+            Gauge.builder("app.audit.queue.depth", auditLog, AuditLog::getQueueDepth).register(registry);
+            FunctionCounter.builder("app.audit.events", auditLog, AuditLog::getWrittenCount).tag("result", "written")
+                    .register(registry);
+            FunctionCounter.builder("app.audit.events", auditLog, AuditLog::getDroppedCount).tag("result", "dropped")
+                    .register(registry);
+            FunctionCounter.builder("app.audit.events", auditLog, AuditLog::getFailedCount).tag("result", "failed")
+                    .register(registry);
+        };
+    }
+
+    // 日報未提出のお知らせの送信状況 (送信失敗が増えていないか)
+    @Bean
+    public MeterBinder reportReminderMetrics(ReportReminderJob reportReminderJob) {
+        return registry -> {
+            FunctionCounter.builder("app.reports.reminders", reportReminderJob, ReportReminderJob::getSentCount)
+                    .tag("result", "sent").register(registry);
+            FunctionCounter.builder("app.reports.reminders", reportReminderJob, ReportReminderJob::getFailedCount)
+                    .tag("result", "failed").register(registry);
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.techacademy;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.WebUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+// 自身の登録・更新の直後は、レプリカの反映遅れで古い内容が表示されないよう参照をプライマリへ固定する
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    // 最後に更新系のリクエストを送信した時刻 (セッション属性)
+    static final String LAST_WRITE_AT = ReadYourWritesInterceptor.class.getName() + ".LAST_WRITE_AT";
+
+    // セッションを使わない構成 (app.session.mode=cookie) で時刻を保持するCookie
+    static final String LAST_WRITE_COOKIE = "REPORT_LAST_WRITE";
+
+    private final long windowMillis;
+    private final boolean useCookie;
+
+    public ReadYourWritesInterceptor(long windowMillis) {
+        this(windowMillis, false);
+    }
+
+    public ReadYourWritesInterceptor(long windowMillis, boolean useCookie) {
+        this.windowMillis = windowMillis;
+        this.useCookie = useCookie;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            saveLastWriteAt(request, response, now);
+            ReplicaRoutingDataSource.forcePrimary();
+            return true;
+        }
+
+        Long lastWriteAt = loadLastWriteAt(request);
+        if (lastWriteAt != null && now - lastWriteAt < windowMillis) {
+            ReplicaRoutingDataSource.forcePrimary();
+        }
+        return true;
+    }
+
+    private void saveLastWriteAt(HttpServletRequest request, HttpServletResponse response, long now) {
+        if (!useCookie) {
+            request.getSession().setAttribute(LAST_WRITE_AT, now);
+            return;
+        }
+        // 固定期間が過ぎればブラウザ側で破棄される
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(now));
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setMaxAge((int) Math.max(1, windowMillis / 1000));
+        cookie.setHttpOnly(true);
+        response.addCookie(cookie);
+    }
+
+    private Long loadLastWriteAt(HttpServletRequest request) {
+        if (useCookie) {
+            Cookie cookie = WebUtils.getCookie(request, LAST_WRITE_COOKIE);
+            try {
+                return cookie == null ? null : Long.valueOf(cookie.getValue());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        HttpSession session = request.getSession(false);
+        return session != null && session.getAttribute(LAST_WRITE_AT) instanceof Long at ? at : null;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ReplicaRoutingDataSource.clearForcePrimary();
+    }
+}
@@ -0,0 +1,35 @@
+package com.techacademy;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 読み取り専用トランザクションを参照用レプリカへ振り分ける DataSource
+// (トランザクション開始時点では接続先が決まらないため、LazyConnectionDataSourceProxy で包んで使用する)
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    // 現在のスレッドの参照をプライマリへ固定するか (自身の更新直後の読み取り用)
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static void clearForcePrimary() {
+        PRIMARY_FORCED.remove();
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isPrimaryForced()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
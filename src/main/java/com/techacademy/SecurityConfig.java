@@ -1,34 +1,122 @@
 package com.techacademy;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.logout.LogoutFilter;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfTokenRepository;
+import org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.CookieRequestCache;
+
+import com.techacademy.service.BoundedPasswordEncoder;
 
 @Configuration
 public class SecurityConfig {
+
+    /** app.session.mode: HTTPセッションを使わず、ログイン状態等をCookieに保持する */
+    public static final String SESSION_MODE_COOKIE = "cookie";
+
     /** 認証・認可設定 */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        http.formLogin(login -> login.loginProcessingUrl("/login") // 従業員番号・パスワードの送信先
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, CsrfTokenRepository csrfTokenRepository,
+            ObjectProvider<CookieSecurityContextRepository> cookieSecurityContextRepository) throws Exception {
+        CookieSecurityContextRepository cookieRepository = cookieSecurityContextRepository.getIfAvailable();
+
+        // ログイン失敗時のリダイレクト先 (Cookieモードでは失敗理由の保持のためにセッションを作らない)
+        SimpleUrlAuthenticationFailureHandler failureHandler = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        failureHandler.setAllowSessionCreation(cookieRepository == null);
+
+        http.csrf(csrf -> csrf.csrfTokenRepository(csrfTokenRepository)
+        ).formLogin(login -> login.loginProcessingUrl("/login") // 従業員番号・パスワードの送信先
                 .loginPage("/login") // ログイン画面
                 .defaultSuccessUrl("/reports") // ログイン成功後のリダイレクト先
-                .failureUrl("/login?error") // ログイン失敗時のリダイレクト先
+                .failureHandler(failureHandler)
                 .permitAll() // ログイン画面は未ログインでアクセス可
         ).logout(logout -> logout.logoutSuccessUrl("/login") // ログアウト後のリダイレクト先
         ).authorizeHttpRequests(
                 auth -> auth.requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll() // css等は未ログインでアクセス可
-                        .requestMatchers("/employees/**").hasAnyAuthority("ADMIN").anyRequest().authenticated()); // その他はログイン必要
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll() // 監視用 (管理ポートでのみ公開)
+                        .requestMatchers("/employees/**").hasAnyAuthority("ADMIN")
+                        .requestMatchers("/reports/import", "/reports/export").hasAnyAuthority("ADMIN") // 日報一括取込・エクスポートは管理者のみ
+                        .requestMatchers("/statistics/**").hasAnyAuthority("ADMIN") // 提出状況の集計は管理者のみ
+                        .anyRequest().authenticated()); // その他はログイン必要
+
+        if (cookieRepository != null) {
+            // どのノードでも同じログイン状態を復元できるよう、HTTPセッションを作成しない
+            http.securityContext(context -> context.securityContextRepository(cookieRepository))
+                    .logout(logout -> logout.addLogoutHandler(cookieRepository)) // ログアウト時に発行済みのCookieを無効化
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .requestCache(cache -> cache.requestCache(new CookieRequestCache()))
+                    .addFilterAfter(new SessionCookieRefreshFilter(cookieRepository), LogoutFilter.class);
+        }
+
+        return http.build();
+    }
 
+    /** css・js (ハッシュ付きURLで長期キャッシュする静的ファイル) はセキュリティのフィルターを通さずに配信する */
+    @Bean
+    public WebSecurityCustomizer staticResourceSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers("/css/**", "/js/**");
+    }
+
+    /** 参照APIの未ログイン時の応答: ログイン画面へ遷移せず 401 を返す (sendError はエラー画面への転送でログイン画面へリダイレクトされるため使わない) */
+    private static final AuthenticationEntryPoint API_ENTRY_POINT = (request, response, exception) -> {
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"daily-report\"");
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+    };
+
+    /** 参照API (/api/**): 他のシステムからはBasic認証で利用する (画面のログイン状態でも利用可)。参照のみのためCSRF対策は不要 */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http,
+            ObjectProvider<CookieSecurityContextRepository> cookieSecurityContextRepository) throws Exception {
+        http.securityMatcher("/api/**")
+                .csrf(csrf -> csrf.disable())
+                .httpBasic(basic -> basic.authenticationEntryPoint(API_ENTRY_POINT))
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(API_ENTRY_POINT))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.NEVER))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/api/v1/employees/**").hasAnyAuthority("ADMIN") // 従業員は管理者のみ
+                        .requestMatchers(HttpMethod.GET, "/api/**").authenticated()
+                        .anyRequest().denyAll()); // 参照のみ
+
+        CookieSecurityContextRepository cookieRepository = cookieSecurityContextRepository.getIfAvailable();
+        if (cookieRepository != null) {
+            http.securityContext(context -> context.securityContextRepository(cookieRepository));
+        }
         return http.build();
     }
 
-    /** ハッシュ化したパスワードの比較に使用する */
+    /** CSRFトークンの保存先 (詳細画面の ETag 計算でも参照する) */
+    @Bean
+    public CsrfTokenRepository csrfTokenRepository(@Value("${app.session.mode:session}") String sessionMode) {
+        if (SESSION_MODE_COOKIE.equals(sessionMode)) {
+            return new CookieCsrfTokenRepository();
+        }
+        return new HttpSessionCsrfTokenRepository();
+    }
+
+    /** ハッシュ化したパスワードの比較に使用する (専用スレッドプールで実行し、リクエスト処理スレッドを占有しない) */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${app.password.bcrypt-strength:10}") int strength,
+            @Value("${app.password.pool-size:0}") int poolSize,
+            @Value("${app.password.queue-capacity:64}") int queueCapacity,
+            @Value("${app.password.timeout-ms:5000}") long timeoutMillis) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeoutMillis);
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.techacademy;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// ログイン状態のCookieの有効期限を、アクセスがあるたびに延長する (HTTPセッションのタイムアウトと同じ考え方)
+public class SessionCookieRefreshFilter extends OncePerRequestFilter {
+
+    private final CookieSecurityContextRepository repository;
+
+    public SessionCookieRefreshFilter(CookieSecurityContextRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // レスポンス本文の出力前にCookieを設定する
+        repository.refresh(request, response);
+        filterChain.doFilter(request, response);
+    }
+}
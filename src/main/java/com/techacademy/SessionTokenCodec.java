@@ -0,0 +1,101 @@
+package com.techacademy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import lombok.Value;
+
+// ログイン状態のトークン (社員番号・ログイン状態の世代・有効期限) を AES-GCM で暗号化・改ざん検知付きの文字列にする
+// 形式: Base64URL(バージョン 1バイト + IV 12バイト + 暗号文・認証タグ)
+// (世代を含まないバージョン1のトークンは受け付けない)
+public class SessionTokenCodec {
+
+    private static final byte VERSION = 2;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    // 他の用途で同じ鍵を使って暗号化した値をトークンとして受け付けないよう、認証対象に含める
+    private static final byte[] ASSOCIATED_DATA = "daily-report-session".getBytes(StandardCharsets.US_ASCII);
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    // key: 16・24・32バイトのAES鍵
+    public SessionTokenCodec(byte[] key) {
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("AESの鍵は16・24・32バイトで指定してください");
+        }
+        this.key = new SecretKeySpec(key, "AES");
+    }
+
+    // Base64で指定した鍵から作成
+    public static SessionTokenCodec fromBase64(String key) {
+        return new SessionTokenCodec(Base64.getDecoder().decode(key.trim()));
+    }
+
+    // credentialVersion: 発行時の従業員のログイン状態の世代 (ログアウト等で進み、それ以前のトークンは無効になる)
+    public String encode(String employeeCode, int credentialVersion, Instant expiresAt) {
+        byte[] plain = (expiresAt.getEpochSecond() + ":" + credentialVersion + ":" + employeeCode)
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(ASSOCIATED_DATA);
+            byte[] encrypted = cipher.doFinal(plain);
+            ByteBuffer token = ByteBuffer.allocate(1 + IV_LENGTH + encrypted.length);
+            token.put(VERSION).put(iv).put(encrypted);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(token.array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 復号できない (改ざん・別の鍵・形式不正) 場合や、now の時点で期限切れの場合は空
+    public Optional<SessionToken> decode(String token, Instant now) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            if (bytes.length <= 1 + IV_LENGTH || bytes[0] != VERSION) {
+                return Optional.empty();
+            }
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 1, IV_LENGTH));
+            cipher.updateAAD(ASSOCIATED_DATA);
+            String plain = new String(cipher.doFinal(bytes, 1 + IV_LENGTH, bytes.length - 1 - IV_LENGTH),
+                    StandardCharsets.UTF_8);
+
+            int separator = plain.indexOf(':');
+            int codeSeparator = separator < 0 ? -1 : plain.indexOf(':', separator + 1);
+            if (codeSeparator < 0) {
+                return Optional.empty();
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(plain.substring(0, separator)));
+            if (!now.isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            int credentialVersion = Integer.parseInt(plain.substring(separator + 1, codeSeparator));
+            return Optional.of(new SessionToken(plain.substring(codeSeparator + 1), credentialVersion, expiresAt));
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return Optional.empty();
+        }
+    }
+
+    // 復号したトークン
+    @Value
+    public static class SessionToken {
+        String employeeCode;
+        int credentialVersion;
+        Instant expiresAt;
+    }
+}
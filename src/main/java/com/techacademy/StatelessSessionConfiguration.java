@@ -0,0 +1,30 @@
+package com.techacademy;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.techacademy.service.EmployeeService;
+
+// HTTPセッションを使わない構成 (app.session.mode=cookie の場合のみ有効)
+// ログイン状態・CSRFトークン・ログイン後の遷移先をCookieに保持するため、ノード間でセッションを共有・固定する必要がない
+@Configuration
+@ConditionalOnProperty(name = "app.session.mode", havingValue = SecurityConfig.SESSION_MODE_COOKIE)
+public class StatelessSessionConfiguration {
+
+    // 鍵は全ノードで同じ値を設定する (未設定の場合は起動しない)
+    @Bean
+    public CookieSecurityContextRepository cookieSecurityContextRepository(
+            @Value("${app.session.secret:}") String secret, @Value("${app.session.timeout:30m}") Duration timeout,
+            UserDetailsService userDetailsService, EmployeeService employeeService) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("app.session.mode=cookie の場合は app.session.secret を設定してください");
+        }
+        return new CookieSecurityContextRepository(SessionTokenCodec.fromBase64(secret), userDetailsService,
+                employeeService, timeout);
+    }
+}
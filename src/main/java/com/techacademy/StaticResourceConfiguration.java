@@ -0,0 +1,182 @@
+package com.techacademy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@Configuration
+public class StaticResourceConfiguration implements WebMvcConfigurer {
+
+    /** ハッシュ付きURL: 内容が変われば別のURLになるため、同じURLの間は再取得させない */
+    private static final CacheControl VERSIONED_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic()
+            .immutable();
+
+    /** ハッシュなしのURL (外部から直接参照された場合など): 内容が変わりうるため、毎回 Last-Modified で確認させる */
+    private static final CacheControl UNVERSIONED_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    /** css・js: ハッシュ付きURL (例: /css/bootstrap.min-{hash}.css) で配信し、事前に圧縮したファイル (.br / .gz) があればそれを返す */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/css/**").addResourceLocations("classpath:/static/css/")
+                .setCacheControl(UNVERSIONED_CACHE_CONTROL)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new ImmutableVersionResourceResolver().addContentVersionStrategy("/**"))
+                .addTransformer(new ImmutableCssLinkResourceTransformer());
+        registry.addResourceHandler("/js/**").addResourceLocations("classpath:/static/js/")
+                .setCacheControl(UNVERSIONED_CACHE_CONTROL)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new ImmutableVersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /** 画面の @{/css/...}・@{/js/...} をハッシュ付きURLに書き換える */
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        return new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+    }
+
+    /**
+     * ハッシュ付きURLで解決した場合のみ、応答に長期キャッシュの Cache-Control を付ける
+     * (リソースの応答ヘッダーはハンドラーの既定の Cache-Control より後に設定される)
+     */
+    static class ImmutableVersionResourceResolver extends VersionResourceResolver {
+
+        @Override
+        protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                List<? extends Resource> locations, ResourceResolverChain chain) {
+            // ハッシュなしのパスで見つかる場合はそのまま返す (VersionResourceResolver も最初にこの確認を行う)
+            Resource resolved = chain.resolveResource(request, requestPath, locations);
+            if (resolved != null) {
+                return resolved;
+            }
+            resolved = super.resolveResourceInternal(request, requestPath, locations, chain);
+            return resolved == null ? null : new ImmutableResource(resolved);
+        }
+    }
+
+    /**
+     * css 内のリンクをハッシュ付きURLに書き換える (VersionResourceResolver を使うと既定で追加される変換の代わりに登録する)
+     * 書き換えた css は応答ヘッダーを持たないため、ハッシュ付きURLの場合は元のリソースの Cache-Control・ETag を引き継ぐ
+     */
+    static class ImmutableCssLinkResourceTransformer extends CssLinkResourceTransformer {
+
+        @Override
+        public Resource transform(HttpServletRequest request, Resource resource,
+                ResourceTransformerChain transformerChain) throws IOException {
+            Resource transformed = super.transform(request, resource, transformerChain);
+            if (resource instanceof ImmutableResource immutable && !(transformed instanceof HttpResource)) {
+                return new ImmutableResource(transformed, immutable.headers);
+            }
+            return transformed;
+        }
+    }
+
+    /**
+     * ハッシュ付きURLで解決したリソース (内容・ETag は元のリソースのまま、Cache-Control のみ追加する)
+     * CachingResourceTransformer はリソースの説明 (getDescription) を比較するキャッシュのため、ハッシュなしのURLで解決したリソースと
+     * 区別できる説明にする (同じ説明では先に配信した方の Cache-Control が、もう一方のURLにも使われる)
+     */
+    static class ImmutableResource extends AbstractResource implements HttpResource {
+
+        private final Resource original;
+        private final HttpHeaders headers;
+
+        ImmutableResource(Resource original) {
+            this(original, original instanceof HttpResource httpResource ? httpResource.getResponseHeaders()
+                    : new HttpHeaders());
+        }
+
+        ImmutableResource(Resource original, HttpHeaders headers) {
+            this.original = original;
+            this.headers = headers;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.putAll(headers);
+            responseHeaders.setCacheControl(VERSIONED_CACHE_CONTROL);
+            return responseHeaders;
+        }
+
+        @Override
+        public boolean exists() {
+            return original.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return original.isReadable();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return original.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return original.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return original.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return original.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return original.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            // 事前に圧縮したファイル (EncodedResourceResolver が作る) も区別できるようにする
+            return new ImmutableResource(original.createRelative(relativePath));
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return "immutable " + original.getDescription();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return original.getInputStream();
+        }
+    }
+}
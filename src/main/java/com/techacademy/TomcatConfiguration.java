@@ -1,7 +1,11 @@
 package com.techacademy; // ご自身の環境に合わせてください
 
 import org.apache.catalina.connector.Connector;
+import org.apache.coyote.ajp.AbstractAjpProtocol;
 import org.apache.coyote.ajp.AjpNio2Protocol;
+import org.apache.coyote.ajp.AjpNioProtocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +13,13 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class TomcatConfiguration implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
 
+    // 仮想スレッドでリクエストを処理するか (HTTPコネクタは Spring Boot が同じ設定値で切り替える)
+    private final boolean virtualThreadsEnabled;
+
+    public TomcatConfiguration(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
     @Override
     public void customize(TomcatServletWebServerFactory factory) {
         // Tomcatとの通信手段にAJPを追加
@@ -17,15 +28,22 @@ public class TomcatConfiguration implements WebServerFactoryCustomizer<TomcatSer
 
     private Connector ajpConnector() {
         // AJPの利用を宣言
-        Connector connector = new Connector("org.apache.coyote.ajp.AjpNio2Protocol");
+        // 仮想スレッドの場合はNIOを使う (NIO2は外部のExecutorを非同期I/Oの完了処理にも使うため、Tomcatが警告する)
+        Connector connector = new Connector(
+                virtualThreadsEnabled ? AjpNioProtocol.class.getName() : AjpNio2Protocol.class.getName());
 
         // AJPの通信で8009番ポートを使うための指定
         connector.setPort(8009);
 
         // secretという保護機能を利用しないようにする設定
-        AjpNio2Protocol protocol = (AjpNio2Protocol) connector.getProtocolHandler();
+        AbstractAjpProtocol<?> protocol = (AbstractAjpProtocol<?>) connector.getProtocolHandler();
         protocol.setSecretRequired(false);
 
+        // 追加コネクタには Spring Boot の仮想スレッド設定が適用されないため、AJP側にも同じ実行方式を設定する
+        if (virtualThreadsEnabled) {
+            protocol.setExecutor(new VirtualThreadExecutor("tomcat-ajp-handler-"));
+        }
+
         return connector;
     }
 
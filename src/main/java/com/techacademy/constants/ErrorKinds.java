@@ -18,6 +18,12 @@ public enum ErrorKinds {
     LOGINCHECK_ERROR,
     // 日付チェックエラー
     DATECHECK_ERROR,
+    // 同時更新チェックエラー(他のユーザーが先に更新済み)
+    OPTIMISTIC_LOCK_ERROR,
+    // 入力形式チェックエラー(一括登録の列数・入力値)
+    FORMAT_ERROR,
+    // パスワード処理の混雑エラー(一括登録でハッシュ化を受け付けられなかった行)
+    PASSWORD_BUSY_ERROR,
     // チェックOK
     CHECK_OK,
     // 正常終了
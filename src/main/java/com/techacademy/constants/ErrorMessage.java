@@ -32,6 +32,14 @@ public class ErrorMessage {
                     new ArrayList<String>(Arrays.asList("deleteError", "ログイン中の従業員を削除することは出来ません")));
             // 同一日付チェック用エラーメッセージ
             put(ErrorKinds.DATECHECK_ERROR, new ArrayList<String>(Arrays.asList("reportDateError", "既に登録されている日付です")));
+            // 同時更新チェック用エラーメッセージ
+            put(ErrorKinds.OPTIMISTIC_LOCK_ERROR, new ArrayList<String>(
+                    Arrays.asList("versionError", "他のユーザーが先に更新しました。最新の内容を確認してから再度更新してください")));
+            // 一括登録の入力形式チェック用エラーメッセージ
+            put(ErrorKinds.FORMAT_ERROR, new ArrayList<String>(Arrays.asList("formatError", "入力内容が正しくありません")));
+            // 一括登録のパスワード処理の混雑エラーメッセージ
+            put(ErrorKinds.PASSWORD_BUSY_ERROR, new ArrayList<String>(
+                    Arrays.asList("passwordError", "パスワード処理が混雑しているため登録できませんでした。時間をおいて再度登録してください")));
         }
     };
 
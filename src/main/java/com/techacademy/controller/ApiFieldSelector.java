@@ -0,0 +1,84 @@
+package com.techacademy.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+// 参照APIの項目選択 (fields=id,title のように指定した項目のみを返す。未指定の場合は全項目)
+@Component
+public class ApiFieldSelector {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    // DTOのクラス → 項目名
+    private final Map<Class<?>, Set<String>> propertyNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ApiFieldSelector(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // 一覧の各項目から指定した項目のみを取り出す
+    public List<?> select(List<?> items, Class<?> type, String fields) {
+        Set<String> selected = parse(type, fields);
+        if (selected == null) {
+            return items;
+        }
+        List<Map<String, Object>> result = new ArrayList<>(items.size());
+        for (Object item : items) {
+            result.add(retain(item, selected));
+        }
+        return result;
+    }
+
+    // 1件から指定した項目のみを取り出す
+    public Object select(Object item, String fields) {
+        Set<String> selected = parse(item.getClass(), fields);
+        return selected == null ? item : retain(item, selected);
+    }
+
+    // 存在しない項目が指定された場合は 400 Bad Request
+    private Set<String> parse(Class<?> type, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = Arrays.stream(fields.split(",")).map(String::trim).filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> names = propertyNames.computeIfAbsent(type, this::introspect);
+        for (String field : selected) {
+            if (!names.contains(field)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "fields に指定できる項目: " + String.join(",", names));
+            }
+        }
+        return selected;
+    }
+
+    private Set<String> introspect(Class<?> type) {
+        return objectMapper.getSerializationConfig().introspect(objectMapper.constructType(type)).findProperties()
+                .stream().map(BeanPropertyDefinition::getName).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private Map<String, Object> retain(Object item, Set<String> selected) {
+        Map<String, Object> values = objectMapper.convertValue(item, MAP_TYPE);
+        values.keySet().retainAll(selected);
+        return values;
+    }
+}
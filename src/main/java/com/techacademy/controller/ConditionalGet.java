@@ -0,0 +1,61 @@
+package com.techacademy.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.CsrfTokenRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// 詳細画面・参照APIの詳細の条件付きGET (ETag / Last-Modified)
+// 画面の内容は表示対象の更新日時に加え、ログインユーザー (権限によるメニュー表示) と
+// CSRFトークン (削除フォーム) にも依存するため、これらを含めて ETag を計算する
+@Component
+public class ConditionalGet {
+
+    // ブラウザにはキャッシュさせるが、表示のたびに再検証させる (共有キャッシュには保存させない)
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final CsrfTokenRepository csrfTokenRepository;
+
+    @Autowired
+    public ConditionalGet(CsrfTokenRepository csrfTokenRepository) {
+        this.csrfTokenRepository = csrfTokenRepository;
+    }
+
+    // 前回表示時から変更がなければ true (304 Not Modified を設定済みのため、画面は描画しない)
+    public boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, Principal principal,
+            String resource, LocalDateTime lastModified) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // 弱いETag (内容の同等性のみを示す。強いETagの応答はgzip圧縮されないため)
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(
+                (resource + "|" + lastModified + "|" + user(principal) + "|" + csrfToken(request))
+                        .getBytes(StandardCharsets.UTF_8))
+                + "\"";
+        long lastModifiedMillis = lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ServletWebRequest(request, response).checkNotModified(etag, lastModifiedMillis);
+    }
+
+    private static String user(Principal principal) {
+        if (principal instanceof Authentication authentication) {
+            return authentication.getName() + authentication.getAuthorities();
+        }
+        return principal == null ? "" : principal.getName();
+    }
+
+    // 未発行の場合は画面の描画時に発行されるため、次回の表示では ETag が一致せず再描画される
+    private String csrfToken(HttpServletRequest request) {
+        CsrfToken token = csrfTokenRepository.loadToken(request);
+        return token == null ? "" : token.getToken();
+    }
+}
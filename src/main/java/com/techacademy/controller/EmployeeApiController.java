@@ -0,0 +1,73 @@
+package com.techacademy.controller;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.techacademy.dto.ApiPage;
+import com.techacademy.dto.EmployeeSummary;
+import com.techacademy.service.EmployeeService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// 従業員の参照API (従業員画面と同じく管理者のみ。パスワードは返さない)
+@RestController
+@RequestMapping("/api/v1/employees")
+public class EmployeeApiController {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final EmployeeService employeeService;
+    private final ConditionalGet conditionalGet;
+    private final ApiFieldSelector apiFieldSelector;
+
+    @Autowired
+    public EmployeeApiController(EmployeeService employeeService, ConditionalGet conditionalGet,
+            ApiFieldSelector apiFieldSelector) {
+        this.employeeService = employeeService;
+        this.conditionalGet = conditionalGet;
+        this.apiFieldSelector = apiFieldSelector;
+    }
+
+    // 従業員一覧 (社員番号順、キーセット方式のページング)
+    @GetMapping
+    public ApiPage<?> list(@RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "fields", required = false) String fields) {
+        int pageSize = Math.max(1, Math.min(limit, ReportApiController.MAX_LIMIT));
+        // 次ページの有無を判定するため1件多く取得する
+        List<EmployeeSummary> rows = employeeService.findSummaries(after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<EmployeeSummary> employees = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? employees.get(employees.size() - 1).getCode() : null;
+        return new ApiPage<>(apiFieldSelector.select(employees, EmployeeSummary.class, fields), nextCursor, null);
+    }
+
+    // 従業員詳細 (前回取得時から変更がなければ 304 Not Modified)
+    @GetMapping("/{code}")
+    public ResponseEntity<?> detail(@PathVariable("code") String code,
+            @RequestParam(value = "fields", required = false) String fields, Principal principal,
+            HttpServletRequest request, HttpServletResponse response) {
+        Optional<LocalDateTime> lastModified = employeeService.findUpdatedAtByCode(code);
+        if (lastModified.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (conditionalGet.checkNotModified(request, response, principal, "api:employee:" + code + ":" + fields,
+                lastModified.get())) {
+            return null;
+        }
+        return employeeService.findDetailByCode(code)
+                .<ResponseEntity<?>>map(employee -> ResponseEntity.ok(apiFieldSelector.select(employee, fields)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
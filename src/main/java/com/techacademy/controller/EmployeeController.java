@@ -1,8 +1,15 @@
 package com.techacademy.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -16,24 +23,38 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.techacademy.constants.ErrorKinds;
 import com.techacademy.constants.ErrorMessage;
 
 import com.techacademy.entity.Employee;
+import com.techacademy.service.EmployeeImportResult;
+import com.techacademy.service.EmployeeImportService;
 import com.techacademy.service.EmployeeService;
 import com.techacademy.service.UserDetail;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @Controller
 @RequestMapping("employees")
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final ConditionalGet conditionalGet;
+    private final ValidationFailureCounter validationFailures;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeImportService employeeImportService,
+            ConditionalGet conditionalGet, ValidationFailureCounter validationFailures) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
+        this.conditionalGet = conditionalGet;
+        this.validationFailures = validationFailures;
     }
 
     // 従業員一覧画面
@@ -48,7 +69,15 @@ public class EmployeeController {
 
     // 従業員詳細画面
     @GetMapping(value = "/{code}/")
-    public String detail(@PathVariable("code") String code, Model model) {
+    public String detail(@PathVariable("code") String code, Model model, Principal principal,
+            HttpServletRequest request, HttpServletResponse response) {
+
+        // 前回表示時から更新されていなければ 304 を返し、画面の描画を省く
+        Optional<LocalDateTime> updatedAt = employeeService.findUpdatedAtByCode(code);
+        if (updatedAt.isPresent() && conditionalGet.checkNotModified(request, response, principal,
+                "employee:" + code, updatedAt.get())) {
+            return null;
+        }
 
         model.addAttribute("employee", employeeService.findByCode(code));
         return "employees/detail";
@@ -67,6 +96,7 @@ public class EmployeeController {
     public String updateEmployee(@Validated @ModelAttribute Employee employee, BindingResult result, Model model) {
         // **氏名のエラーチェックは変更せず、元の状態のまま**
         if (result.hasErrors()) {
+            validationFailures.record(result);
             model.addAttribute("employee", employee);
             return "employees/update";
         }
@@ -75,8 +105,7 @@ public class EmployeeController {
 
         // **パスワードが空白の場合はチェックせずにそのまま更新**
         if (password == null || password.isEmpty()) {
-            employeeService.updateEmployee(employee);
-            return "redirect:/employees";
+            return saveUpdate(employee, model);
         }
 
         // **エラーメッセージを管理**
@@ -84,10 +113,12 @@ public class EmployeeController {
         boolean hasPasswordCharacterError = !password.matches("^[a-zA-Z0-9]+$");
 
         if (hasPasswordLengthError) {
+            validationFailures.record(ErrorKinds.RANGECHECK_ERROR);
             model.addAttribute("passwordLengthError", ErrorMessage.getErrorValue(ErrorKinds.RANGECHECK_ERROR));
         }
 
         if (hasPasswordCharacterError) {
+            validationFailures.record(ErrorKinds.HALFSIZE_ERROR);
             model.addAttribute("passwordCharacterError", ErrorMessage.getErrorValue(ErrorKinds.HALFSIZE_ERROR));
         }
 
@@ -110,11 +141,49 @@ public class EmployeeController {
             SecurityContextHolder.clearContext(); // セッション情報をクリア
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "権限がありません");
         }
-        employeeService.updateEmployee(employee);
+        return saveUpdate(employee, model);
+    }
+
+    // 更新を反映 (他のユーザーが先に更新していた場合は、最新の内容で更新画面を表示し直す)
+    private String saveUpdate(Employee employee, Model model) {
+        ErrorKinds result;
+        try {
+            result = employeeService.updateEmployee(employee);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            result = ErrorKinds.OPTIMISTIC_LOCK_ERROR;
+        }
+
+        if (result == ErrorKinds.OPTIMISTIC_LOCK_ERROR) {
+            model.addAttribute(ErrorMessage.getErrorName(result), ErrorMessage.getErrorValue(result));
+            return editEmployee(employee.getCode(), model);
+        }
         return "redirect:/employees";
     }
 
 
+    // 従業員一括登録画面への遷移
+    @GetMapping("/import")
+    public String showImport() {
+        return "employees/import";
+    }
+
+    // 従業員一括登録処理 (CSV)
+    @PostMapping("/import")
+    public String importEmployees(@RequestParam("file") MultipartFile file, Model model) throws IOException {
+        if (file.isEmpty()) {
+            validationFailures.record(ErrorKinds.BLANK_ERROR);
+            model.addAttribute("fileError", ErrorMessage.getErrorValue(ErrorKinds.BLANK_ERROR));
+            return "employees/import";
+        }
+
+        try (InputStream inputStream = file.getInputStream()) {
+            EmployeeImportResult result = employeeImportService.importEmployees(inputStream);
+            validationFailures.record(result);
+            model.addAttribute("result", result);
+        }
+        return "employees/import";
+    }
+
     // 従業員新規登録画面
     @GetMapping(value = "/add")
     public String create(@ModelAttribute Employee employee) {
@@ -133,6 +202,7 @@ public class EmployeeController {
          */
         if ("".equals(employee.getPassword())) {
             // パスワードが空白だった場合
+            validationFailures.record(ErrorKinds.BLANK_ERROR);
             model.addAttribute(ErrorMessage.getErrorName(ErrorKinds.BLANK_ERROR),
                     ErrorMessage.getErrorValue(ErrorKinds.BLANK_ERROR));
 
@@ -142,6 +212,7 @@ public class EmployeeController {
 
         // 入力チェック
         if (res.hasErrors()) {
+            validationFailures.record(res);
             return create(employee);
         }
 
@@ -151,11 +222,13 @@ public class EmployeeController {
             ErrorKinds result = employeeService.save(employee);
 
             if (ErrorMessage.contains(result)) {
+                validationFailures.record(result);
                 model.addAttribute(ErrorMessage.getErrorName(result), ErrorMessage.getErrorValue(result));
                 return create(employee);
             }
 
         } catch (DataIntegrityViolationException e) {
+            validationFailures.record(ErrorKinds.DUPLICATE_EXCEPTION_ERROR);
             model.addAttribute(ErrorMessage.getErrorName(ErrorKinds.DUPLICATE_EXCEPTION_ERROR),
                     ErrorMessage.getErrorValue(ErrorKinds.DUPLICATE_EXCEPTION_ERROR));
             return create(employee);
@@ -173,7 +246,7 @@ public class EmployeeController {
         if (ErrorMessage.contains(result)) {
             model.addAttribute(ErrorMessage.getErrorName(result), ErrorMessage.getErrorValue(result));
             model.addAttribute("employee", employeeService.findByCode(code));
-            return detail(code, model);
+            return "employees/detail";
         }
 
         return "redirect:/employees";
@@ -0,0 +1,73 @@
+package com.techacademy.controller;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.techacademy.dto.ApiPage;
+import com.techacademy.dto.ReportSummary;
+import com.techacademy.service.ReportPage;
+import com.techacademy.service.ReportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// 日報の参照API (日報一覧と同じ権限: 管理者は全従業員、一般ユーザーは自身の日報のみ)
+@RestController
+@RequestMapping("/api/v1/reports")
+public class ReportApiController {
+
+    // 1ページの最大件数
+    public static final int MAX_LIMIT = 100;
+
+    private final ReportService reportService;
+    private final ConditionalGet conditionalGet;
+    private final ApiFieldSelector apiFieldSelector;
+
+    @Autowired
+    public ReportApiController(ReportService reportService, ConditionalGet conditionalGet,
+            ApiFieldSelector apiFieldSelector) {
+        this.reportService = reportService;
+        this.conditionalGet = conditionalGet;
+        this.apiFieldSelector = apiFieldSelector;
+    }
+
+    // 日報一覧 (日付・IDの降順、キーセット方式のページング。archived=true で過去の月も含める)
+    @GetMapping
+    public ApiPage<?> list(Principal principal, @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "archived", defaultValue = "false") boolean archived,
+            @RequestParam(value = "limit", defaultValue = "" + ReportService.PAGE_SIZE) int limit,
+            @RequestParam(value = "fields", required = false) String fields) {
+        ReportPage page = reportService.findReportPageByUserRole(principal.getName(), after, null, archived,
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return new ApiPage<>(apiFieldSelector.select(page.getReports(), ReportSummary.class, fields),
+                page.getNextCursor(), page.getTotalCount());
+    }
+
+    // 日報詳細 (前回取得時から変更がなければ 304 Not Modified)
+    // 参照できない日報は条件付きGETの判定前に 404 とする (ETag・Last-Modified で他の従業員の日報の更新を知られないため)
+    @GetMapping("/{id}")
+    public ResponseEntity<?> detail(@PathVariable("id") Long id,
+            @RequestParam(value = "fields", required = false) String fields, Principal principal,
+            HttpServletRequest request, HttpServletResponse response) {
+        Optional<LocalDateTime> lastModified = reportService.findLastModifiedByUserRole(principal.getName(), id);
+        if (lastModified.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (conditionalGet.checkNotModified(request, response, principal, "api:report:" + id + ":" + fields,
+                lastModified.get())) {
+            return null;
+        }
+        return reportService.findReportDetailByUserRole(principal.getName(), id)
+                .<ResponseEntity<?>>map(report -> ResponseEntity.ok(apiFieldSelector.select(report, fields)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -2,19 +2,46 @@ package com.techacademy.controller;
 
 import com.techacademy.constants.ErrorKinds;
 import com.techacademy.constants.ErrorMessage;
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Employee.Role;
 import com.techacademy.entity.Report;
+import com.techacademy.service.ReportCalendar;
+import com.techacademy.service.ReportExportService;
+import com.techacademy.service.ReportImportResult;
+import com.techacademy.service.ReportImportService;
+import com.techacademy.service.ReportPage;
+import com.techacademy.service.ReportRevisionService;
 import com.techacademy.service.ReportService;
+import com.techacademy.service.UserDetail;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.Principal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @Controller
@@ -22,29 +49,92 @@ import java.util.Optional;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportImportService reportImportService;
+    private final ReportExportService reportExportService;
+    private final ConditionalGet conditionalGet;
+    private final ReportRevisionService reportRevisionService;
+    private final ValidationFailureCounter validationFailures;
 
     @Autowired
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, ReportImportService reportImportService,
+            ReportExportService reportExportService, ConditionalGet conditionalGet,
+            ReportRevisionService reportRevisionService, ValidationFailureCounter validationFailures) {
         this.reportService = reportService;
+        this.reportImportService = reportImportService;
+        this.reportExportService = reportExportService;
+        this.conditionalGet = conditionalGet;
+        this.reportRevisionService = reportRevisionService;
+        this.validationFailures = validationFailures;
     }
 
     // 日報一覧画面への遷移（権限別の表示制御を適用）**
     @GetMapping
-    public String showReportList(Model model, Principal principal) {
+    public String showReportList(Model model, Principal principal,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "archived", defaultValue = "false") boolean archived) {
         String employeeCode = principal.getName();
-        List<Report> reportsList = reportService.findReportsByUserRole(employeeCode); // **権限に応じたデータ取得**
+        ReportPage page = reportService.findReportPageByUserRole(employeeCode, after, before, archived); // **権限に応じたデータ取得 (1ページ分)**
 
-        model.addAttribute("reportsList", reportsList);
-        model.addAttribute("listSize", reportsList.size()); // **件数を表示**
+        model.addAttribute("reportsList", page.getReports());
+        model.addAttribute("listSize", page.getTotalCount()); // **件数を表示**
+        model.addAttribute("nextCursor", page.getNextCursor()); // **次ページ用カーソル**
+        model.addAttribute("prevCursor", page.getPrevCursor()); // **前ページ用カーソル**
+        model.addAttribute("archived", archived); // **過去の月も表示するか**
+        model.addAttribute("hotWindowStart", reportService.hotWindowStart()); // **既定の表示期間の開始日**
 
         return "reports/list"; // **一覧画面へ遷移**
     }
 
+    // 日報カレンダー画面 (月ごとの提出日。管理者は社員番号を指定して他の従業員も表示できる)
+    @GetMapping("/calendar")
+    public String calendar(@RequestParam(value = "employeeCode", required = false) String employeeCode,
+            @RequestParam(value = "month", required = false) YearMonth month,
+            @AuthenticationPrincipal UserDetail userDetail, Model model) {
+        YearMonth target = month == null ? YearMonth.now() : month;
+        model.addAttribute("calendar", reportService.findCalendar(calendarEmployeeCode(employeeCode, userDetail), target));
+        model.addAttribute("prevMonth", target.minusMonths(1));
+        model.addAttribute("nextMonth", target.plusMonths(1));
+        return "reports/calendar";
+    }
+
+    // 日報カレンダー (提出日のビット列のみ。1日目: ビット0)
+    @GetMapping("/calendar/days")
+    @ResponseBody
+    public Map<String, Object> calendarDays(@RequestParam(value = "employeeCode", required = false) String employeeCode,
+            @RequestParam(value = "month", required = false) YearMonth month,
+            @AuthenticationPrincipal UserDetail userDetail) {
+        ReportCalendar calendar = reportService.findCalendar(calendarEmployeeCode(employeeCode, userDetail),
+                month == null ? YearMonth.now() : month);
+        return Map.of("employeeCode", calendar.getEmployeeCode(), "month", calendar.getMonth().toString(), "days",
+                calendar.getDays());
+    }
+
+    // 一般ユーザーは自身のカレンダーのみ
+    private static String calendarEmployeeCode(String employeeCode, UserDetail userDetail) {
+        Employee login = userDetail.getEmployee();
+        if (login.getRole() == Role.ADMIN && employeeCode != null && !employeeCode.isBlank()) {
+            return employeeCode;
+        }
+        return login.getCode();
+    }
+
+    // 日報検索画面 (タイトル・内容のキーワード検索)
+    @GetMapping("/search")
+    public String search(@RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "page", defaultValue = "0") int page, Model model, Principal principal) {
+        model.addAttribute("query", query);
+        if (query != null && !query.isBlank()) {
+            model.addAttribute("result", reportService.searchByUserRole(principal.getName(), query, page));
+        }
+        return "reports/search";
+    }
+
     // 日報新規登録画面への遷移
     @GetMapping(value = "/add")
     public String create(Model model, Principal principal) {
-        List<Report> reportsList = reportService.findByEmployeeCode(principal.getName());
-        String userName = reportsList.isEmpty() ? "未設定" : reportsList.get(0).getEmployee().getName(); // 修正: Reports から氏名取得
+        Employee loginEmployee = reportService.findEmployeeByCode(principal.getName());
+        String userName = loginEmployee == null ? "未設定" : loginEmployee.getName(); // 修正: 従業員情報から氏名取得 (日報を全件読み込まない)
 
 
 
@@ -58,68 +148,114 @@ public class ReportController {
     @PostMapping("/add")
     public String add(@Validated @ModelAttribute Report report, BindingResult result, Model model, Principal principal) {
         // **日付が入力されているか確認**
-        boolean isReportDateEmpty = result.hasFieldErrors("reportDate");
-
-        // **既存の日付チェック**
-        boolean hasDuplicateDateError = reportService.existsByEmployeeAndDateWithoutExclusion(principal.getName(), report.getReportDate());
-
-        // **エラーメッセージ適用**
-        if (hasDuplicateDateError) {
-            result.rejectValue("reportDate", "error.reportDate", "既に登録されている日付です");
-        } else if (isReportDateEmpty) {
+        if (result.hasFieldErrors("reportDate")) {
             result.rejectValue("reportDate", "error.reportDate", ErrorMessage.getErrorValue(ErrorKinds.BLANK_ERROR));
         }
 
         // **どの項目でもエラーが発生した場合、入力画面に戻る**
         if (result.hasErrors()) {
-            model.addAttribute("report", report);
+            validationFailures.record(result);
+            return showAddError(report, result, model, principal);
+        }
 
-            // **タイトルのバリデーションエラー**
-            if (result.hasFieldErrors("title")) {
-                model.addAttribute("titleError", ErrorMessage.getErrorValue(ErrorKinds.BLANK_ERROR));
-            }
+        // **エラーがない場合のみ登録を実行**
+        report.setEmployee(reportService.findEmployeeByCode(principal.getName()));
+        report.setCreatedAt(LocalDateTime.now());
+        report.setUpdatedAt(LocalDateTime.now());
+        report.setDeleteFlg(false);
 
-            // **内容のバリデーションエラー**
-            if (result.hasFieldErrors("content")) {
-                model.addAttribute("contentError", ErrorMessage.getErrorValue(ErrorKinds.BLANK_ERROR));
+        // **既存の日付チェックはDBの一意制約で行う (事前の存在確認クエリを発行しない)**
+        try {
+            reportService.save(report);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateReportDate(e)) {
+                throw e;
             }
+            validationFailures.record(ErrorKinds.DATECHECK_ERROR);
+            result.rejectValue("reportDate", "error.reportDate", ErrorMessage.getErrorValue(ErrorKinds.DATECHECK_ERROR));
+            return showAddError(report, result, model, principal);
+        }
 
-            // **日付のエラーメッセージ適用**
-            if (result.hasFieldErrors("reportDate")) {
-                model.addAttribute("reportDateError", result.getFieldError("reportDate").getDefaultMessage());
+        return "redirect:/reports";
+    }
+
+    // 「1従業員1日1件」の一意制約違反か (NOT NULL・桁数・外部キー等の違反は日付の重複として扱わない)
+    // 制約名はDBにより「テーブル名.制約名」や接尾辞付きで返るため、含まれているかで判定する
+    static boolean isDuplicateReportDate(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                return name != null && name.toLowerCase(Locale.ROOT).contains(Report.UK_EMPLOYEE_DATE);
             }
+        }
+        return false;
+    }
 
-            // **ログイン中のユーザー名を維持**
-            List<Report> reportsList = reportService.findByEmployeeCode(principal.getName());
-            String userName = reportsList.isEmpty() ? "未設定" : reportsList.get(0).getEmployee().getName();
-            model.addAttribute("userName", userName);
+    // 新規登録画面へのエラー表示
+    private String showAddError(Report report, BindingResult result, Model model, Principal principal) {
+        model.addAttribute("report", report);
 
-            return "reports/new"; // **エラーがある場合は入力画面に戻る**
+        // **タイトルのバリデーションエラー**
+        if (result.hasFieldErrors("title")) {
+            model.addAttribute("titleError", ErrorMessage.getErrorValue(ErrorKinds.BLANK_ERROR));
         }
 
-        // **エラーがない場合のみ登録を実行**
-        report.setEmployee(reportService.findEmployeeByCode(principal.getName()));
-        report.setCreatedAt(LocalDateTime.now());
-        report.setUpdatedAt(LocalDateTime.now());
-        report.setDeleteFlg(false);
-        reportService.save(report);
+        // **内容のバリデーションエラー**
+        if (result.hasFieldErrors("content")) {
+            model.addAttribute("contentError", ErrorMessage.getErrorValue(ErrorKinds.BLANK_ERROR));
+        }
 
-        return "redirect:/reports";
+        // **日付のエラーメッセージ適用**
+        if (result.hasFieldErrors("reportDate")) {
+            model.addAttribute("reportDateError", result.getFieldError("reportDate").getDefaultMessage());
+        }
+
+        // **ログイン中のユーザー名を維持**
+        Employee loginEmployee = reportService.findEmployeeByCode(principal.getName());
+        String userName = loginEmployee == null ? "未設定" : loginEmployee.getName();
+        model.addAttribute("userName", userName);
+
+        return "reports/new"; // **エラーがある場合は入力画面に戻る**
     }
 
 
     // 日報詳細画面への遷移
     @GetMapping("/{id}/")
-    public String showReportDetail(@PathVariable("id") Long id, Model model) {
-        Report report = reportService.findById(id).orElseThrow(() -> new RuntimeException("Report not found"));
+    public String showReportDetail(@PathVariable("id") Long id, Model model, Principal principal,
+            HttpServletRequest request, HttpServletResponse response) {
+        // 前回表示時から日報・従業員ともに更新されていなければ 304 を返し、日報本文の取得・画面の描画を省く
+        Optional<LocalDateTime> lastModified = reportService.findLastModifiedById(id);
+        if (lastModified.isPresent() && conditionalGet.checkNotModified(request, response, principal,
+                "report:" + id, lastModified.get())) {
+            return null;
+        }
+        Report report = reportService.findDetailById(id).orElseThrow(() -> new RuntimeException("Report not found"));
         model.addAttribute("report", report);
         return "reports/detail"; // 詳細画面のテンプレート (reports/detail.html) に遷移
     }
 
+    // 更新履歴画面への遷移 (詳細画面では履歴を読み込まず、この画面を開いた場合のみ復元する)
+    @GetMapping("/{id}/revisions")
+    public String showRevisions(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("reportId", id);
+        model.addAttribute("revisions", reportRevisionService.findHistory(id));
+        return "reports/revisions";
+    }
+
+    // 過去の版の表示
+    @GetMapping("/{id}/revisions/{revision}")
+    public String showRevision(@PathVariable("id") Long id, @PathVariable("revision") int revision, Model model) {
+        return reportRevisionService.findRevision(id, revision).map(found -> {
+            model.addAttribute("reportId", id);
+            model.addAttribute("revision", found);
+            return "reports/revision";
+        }).orElse("redirect:/reports/" + id + "/revisions");
+    }
+
     // 日報更新画面への遷移
     @GetMapping("/{id}/update")
     public String edit(@PathVariable Long id, Model model) {
-        Optional<Report> optionalReport = reportService.findById(id);
+        Optional<Report> optionalReport = reportService.findDetailById(id);
 
         if (optionalReport.isEmpty()) {
             return "redirect:/reports"; // **該当データがない場合は一覧画面へ**
@@ -137,7 +273,36 @@ public class ReportController {
     // 更新処理
     @PostMapping("/{id}/update")
     public String update(@Validated @ModelAttribute Report report, BindingResult result, Model model, @PathVariable("id") Long id, Principal principal) {
-        Report existingReport = reportService.findById(id).orElse(null);
+        // ** 入力エラーのチェック**
+        if (result.hasErrors()) {
+            validationFailures.record(result);
+            return showUpdateError(id, report, result, model, null);
+        }
+
+        // ** 更新処理 (日付の重複はDBの一意制約で検出する)**
+        try {
+            if (reportService.updateReport(id, report).isEmpty()) {
+                return "redirect:/reports"; // **存在しない場合は一覧画面へ**
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateReportDate(e)) {
+                throw e;
+            }
+            validationFailures.record(ErrorKinds.DATECHECK_ERROR);
+            return showUpdateError(id, report, result, model, ErrorMessage.getErrorValue(ErrorKinds.DATECHECK_ERROR));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // 他のユーザーが先に更新していた場合は、最新の内容で更新画面を表示し直す
+            model.addAttribute(ErrorMessage.getErrorName(ErrorKinds.OPTIMISTIC_LOCK_ERROR),
+                    ErrorMessage.getErrorValue(ErrorKinds.OPTIMISTIC_LOCK_ERROR));
+            return edit(id, model);
+        }
+
+        return "redirect:/reports";
+    }
+
+    // 更新画面へのエラー表示
+    private String showUpdateError(Long id, Report report, BindingResult result, Model model, String reportDateError) {
+        Report existingReport = reportService.findDetailById(id).orElse(null);
 
         if (existingReport == null) {
             return "redirect:/reports"; // **存在しない場合は一覧画面へ**
@@ -146,49 +311,80 @@ public class ReportController {
         // ** 既存の日報の従業員情報を維持する **
         report.setEmployee(existingReport.getEmployee());
 
-
-     // **既存の日付チェックを「画面表示中の従業員」で検索**
-        boolean hasDuplicateDateError = reportService.existsByEmployeeAndDateExcludeCurrent(
-                existingReport.getEmployee().getCode(), // 🔹 変更: もとの従業員コードで検索
-                report.getReportDate(),
-                id
-        );
-
         // ** 日付のバリデーションエラーを追加**
         if (result.hasFieldErrors("reportDate")) {
             model.addAttribute("reportDateError", result.getFieldError("reportDate").getDefaultMessage());
         }
+        if (reportDateError != null) {
+            model.addAttribute("reportDateError", reportDateError);
+        }
 
+        model.addAttribute("report", report);
 
-        if (hasDuplicateDateError) {
-            model.addAttribute("reportDateError", "既に登録されている日付です");
+        if (result.hasFieldErrors("title")) {
+            model.addAttribute("titleError", result.getFieldError("title").getDefaultMessage());
+        }
+        if (result.hasFieldErrors("content")) {
+            model.addAttribute("contentError", result.getFieldError("content").getDefaultMessage());
         }
 
-        // ** 入力エラーのチェック**
-        if (result.hasErrors() || hasDuplicateDateError) { // 日付のエラーを含める
-            model.addAttribute("report", report);
+        return "reports/update"; // **エラー時は更新画面へ戻る**
+    }
+
 
-            if (result.hasFieldErrors("title")) {
-                model.addAttribute("titleError", result.getFieldError("title").getDefaultMessage());
-            }
-            if (result.hasFieldErrors("content")) {
-                model.addAttribute("contentError", result.getFieldError("content").getDefaultMessage());
-            }
 
-            return "reports/update"; // **エラー時は更新画面へ戻る**
+    // 日報一括取込画面への遷移
+    @GetMapping("/import")
+    public String showImport() {
+        return "reports/import";
+    }
+
+    // 日報一括取込処理 (CSV / JSON Lines)
+    @PostMapping("/import")
+    public String importReports(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format, Model model) throws IOException {
+        if (file.isEmpty()) {
+            validationFailures.record(ErrorKinds.BLANK_ERROR);
+            model.addAttribute("fileError", ErrorMessage.getErrorValue(ErrorKinds.BLANK_ERROR));
+            return "reports/import";
         }
 
-        // ** 更新処理**
-        existingReport.setReportDate(report.getReportDate());
-        existingReport.setTitle(report.getTitle());
-        existingReport.setContent(report.getContent());
-        existingReport.setUpdatedAt(LocalDateTime.now());
+        // 形式の指定がない場合はファイル名の拡張子から判定
+        if (format == null || format.isEmpty()) {
+            String fileName = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+            format = fileName.endsWith(".jsonl") || fileName.endsWith(".ndjson") ? ReportImportService.FORMAT_JSONL
+                    : ReportImportService.FORMAT_CSV;
+        }
 
-        reportService.save(existingReport);
-        return "redirect:/reports";
+        // ファイル全体をメモリに読み込まず、ストリームのまま取り込む
+        try (InputStream inputStream = file.getInputStream()) {
+            ReportImportResult result = reportImportService.importReports(inputStream, format);
+            model.addAttribute("result", result);
+        }
+        return "reports/import";
     }
 
-
+    // 日報エクスポート (CSV / NDJSON)
+    // 結果を1件ずつ書き出すため、件数に関わらず先頭から即座に送信が始まる
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "employeeCode", required = false) String employeeCode,
+            @RequestParam(value = "format", defaultValue = ReportExportService.FORMAT_CSV) String format) {
+        boolean ndjson = ReportExportService.FORMAT_NDJSON.equals(format);
+        String code = employeeCode == null || employeeCode.isEmpty() ? null : employeeCode;
+
+        StreamingResponseBody body = outputStream -> reportExportService.export(from, to, code,
+                ndjson ? ReportExportService.FORMAT_NDJSON : ReportExportService.FORMAT_CSV, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson;charset=UTF-8")
+                        : MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"reports." + (ndjson ? "ndjson" : "csv") + "\"")
+                .body(body);
+    }
 
     // 削除処理
     @PostMapping("/{id}/delete")
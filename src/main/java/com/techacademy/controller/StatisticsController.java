@@ -0,0 +1,59 @@
+package com.techacademy.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.techacademy.service.StatisticsService;
+
+@Controller
+@RequestMapping("/statistics")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @Autowired
+    public StatisticsController(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    // 提出状況の集計画面
+    @GetMapping
+    public String dashboard(Model model) {
+        model.addAttribute("dashboard", statisticsService.loadDashboard(LocalDate.now()));
+        return "statistics/dashboard";
+    }
+
+    // 未提出者の確認画面 (既定は当月初日～当日)
+    @GetMapping("/missing")
+    public String missing(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "reminded", required = false) Integer reminded, Model model) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null || from.isAfter(end) ? end.withDayOfMonth(1) : from;
+        model.addAttribute("missing", statisticsService.findMissing(start, end));
+        model.addAttribute("reminded", reminded);
+        return "statistics/missing";
+    }
+
+    // 指定した日の未提出者へお知らせを送信
+    @PostMapping("/missing/remind")
+    public String remind(@RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        int sent = statisticsService.remindMissing(date);
+        return "redirect:/statistics/missing?from=" + date + "&to=" + date + "&reminded=" + sent;
+    }
+
+    // 提出状況の再集計
+    @PostMapping("/rebuild")
+    public String rebuild() {
+        statisticsService.rebuild();
+        return "redirect:/statistics";
+    }
+}
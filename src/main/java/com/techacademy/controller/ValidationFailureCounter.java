@@ -0,0 +1,73 @@
+package com.techacademy.controller;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import com.techacademy.constants.ErrorKinds;
+import com.techacademy.service.EmployeeImportResult;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 入力エラーの発生件数 (app.validation.failures、エラー種別 kind ごと)
+// 入力エラーで画面に戻す箇所 (コントローラー) で、送信1回につき項目ごとに1件ずつ計測する
+@Component
+public class ValidationFailureCounter {
+
+    static final String METRIC = "app.validation.failures";
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public ValidationFailureCounter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Bean Validation・型変換のエラー (同じ項目に複数のエラーがあっても最初のエラーのみ計測する)
+    public void record(BindingResult result) {
+        Set<String> fields = new HashSet<>();
+        for (FieldError error : result.getFieldErrors()) {
+            if (fields.add(error.getField())) {
+                record(kindOf(error));
+            }
+        }
+        for (int i = 0; i < result.getGlobalErrorCount(); i++) {
+            record(ErrorKinds.FORMAT_ERROR);
+        }
+    }
+
+    // 一括登録: エラーとなった行ごとに計測
+    public void record(EmployeeImportResult result) {
+        for (EmployeeImportResult.Row row : result.getRows()) {
+            if (row.getResult() != ErrorKinds.SUCCESS) {
+                record(row.getResult());
+            }
+        }
+    }
+
+    public void record(ErrorKinds kind) {
+        registry.counter(METRIC, "kind", kind.name()).increment();
+    }
+
+    // 入力チェックの種類 → エラー種別 (未入力・桁数以外は入力形式のエラーとする)
+    static ErrorKinds kindOf(FieldError error) {
+        if (error.isBindingFailure()) {
+            return ErrorKinds.FORMAT_ERROR;
+        }
+        switch (String.valueOf(error.getCode())) {
+        case "NotEmpty":
+        case "NotBlank":
+        case "NotNull":
+            return ErrorKinds.BLANK_ERROR;
+        case "Size":
+        case "Length":
+            return ErrorKinds.RANGECHECK_ERROR;
+        default:
+            return ErrorKinds.FORMAT_ERROR;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.techacademy.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Value;
+
+// 参照APIの一覧の1ページ分
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApiPage<T> {
+
+    // 項目 (fields 指定時は指定した項目のみ)
+    List<T> items;
+
+    // 次ページのカーソル (after に指定する)。最終ページの場合は null
+    String nextCursor;
+
+    // 全件数 (日報のみ)
+    Long totalCount;
+
+}
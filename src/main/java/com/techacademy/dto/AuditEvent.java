@@ -0,0 +1,37 @@
+package com.techacademy.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+// 監査ログの1件 (誰が・いつ・どのデータを登録/更新/削除したか)
+@Value
+public class AuditEvent {
+
+    // 操作の種類
+    public static enum Action {
+        CREATE, UPDATE, DELETE;
+    }
+
+    // 操作対象のデータの種類
+    public static enum Target {
+        REPORT, EMPLOYEE;
+    }
+
+    // 操作日時
+    LocalDateTime occurredAt;
+
+    // 操作した従業員の社員番号 (ログインしていない処理の場合は SYSTEM)
+    String actor;
+
+    Action action;
+
+    Target target;
+
+    // 対象データのID (日報ID・社員番号)
+    String targetId;
+
+    // 対象データの従業員の社員番号 (日報の場合は作成者)
+    String employeeCode;
+
+}
@@ -0,0 +1,28 @@
+package com.techacademy.dto;
+
+import java.time.LocalDateTime;
+
+import com.techacademy.entity.Employee.Role;
+
+import lombok.Value;
+
+// API用の従業員詳細の読み取りモデル (パスワードを含まない)
+@Value
+public class EmployeeDetail {
+
+    // 社員番号
+    String code;
+
+    // 氏名
+    String name;
+
+    // 権限
+    Role role;
+
+    // 登録日時
+    LocalDateTime createdAt;
+
+    // 更新日時
+    LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,17 @@
+package com.techacademy.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+// 提出状況の索引の作成用読み取りモデル (社員番号・登録日時のみ)
+@Value
+public class EmployeeEnrollment {
+
+    // 社員番号
+    String code;
+
+    // 登録日時
+    LocalDateTime createdAt;
+
+}
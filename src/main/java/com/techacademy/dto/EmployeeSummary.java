@@ -0,0 +1,20 @@
+package com.techacademy.dto;
+
+import com.techacademy.entity.Employee.Role;
+
+import lombok.Value;
+
+// 従業員一覧・集計表示用の読み取りモデル (パスワードを含まない)
+@Value
+public class EmployeeSummary {
+
+    // 社員番号
+    String code;
+
+    // 氏名
+    String name;
+
+    // 権限
+    Role role;
+
+}
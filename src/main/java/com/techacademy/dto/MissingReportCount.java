@@ -0,0 +1,18 @@
+package com.techacademy.dto;
+
+import lombok.Value;
+
+// 未提出者の確認画面の1行 (従業員ごとの未提出日数)
+@Value
+public class MissingReportCount {
+
+    // 社員番号
+    String employeeCode;
+
+    // 氏名
+    String employeeName;
+
+    // 期間内の平日の未提出日数
+    int missingDays;
+
+}
@@ -0,0 +1,20 @@
+package com.techacademy.dto;
+
+import java.time.LocalDate;
+
+import lombok.Value;
+
+// カレンダー表示用の読み取りモデル (日付・ID・タイトルのみ)
+@Value
+public class ReportCalendarEntry {
+
+    // 日報ID
+    Long id;
+
+    // 日付
+    LocalDate reportDate;
+
+    // タイトル
+    String title;
+
+}
@@ -0,0 +1,36 @@
+package com.techacademy.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+// API用の日報詳細の読み取りモデル (従業員は社員番号・氏名のみ)
+@Value
+public class ReportDetail {
+
+    // 日報ID
+    Long id;
+
+    // 日付
+    LocalDate reportDate;
+
+    // タイトル
+    String title;
+
+    // 内容
+    String content;
+
+    // 社員番号
+    String employeeCode;
+
+    // 氏名
+    String employeeName;
+
+    // 登録日時
+    LocalDateTime createdAt;
+
+    // 更新日時
+    LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,27 @@
+package com.techacademy.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+// 日報の過去の版 (差分から復元した全文)
+@Value
+public class ReportRevisionView {
+
+    // 版
+    int revision;
+
+    // 日付
+    LocalDate reportDate;
+
+    // タイトル
+    String title;
+
+    // 内容
+    String content;
+
+    // その版の更新日時
+    LocalDateTime updatedAt;
+
+}
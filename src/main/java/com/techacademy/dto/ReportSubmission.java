@@ -0,0 +1,21 @@
+package com.techacademy.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+// 日報の提出状況の集計用読み取りモデル (社員番号・日付・登録日時のみ)
+@Value
+public class ReportSubmission {
+
+    // 社員番号
+    String employeeCode;
+
+    // 日付
+    LocalDate reportDate;
+
+    // 登録日時
+    LocalDateTime createdAt;
+
+}
@@ -0,0 +1,26 @@
+package com.techacademy.dto;
+
+import java.time.LocalDate;
+
+import lombok.Value;
+
+// 日報一覧表示用の読み取りモデル (日報と従業員を1回の結合クエリで取得する)
+@Value
+public class ReportSummary {
+
+    // 日報ID
+    Long id;
+
+    // 日付
+    LocalDate reportDate;
+
+    // タイトル
+    String title;
+
+    // 社員番号
+    String employeeCode;
+
+    // 氏名
+    String employeeName;
+
+}
@@ -0,0 +1,29 @@
+package com.techacademy.dto;
+
+import lombok.Value;
+
+// 提出状況の集計画面の1行 (従業員ごとの集計値)
+@Value
+public class SubmissionStatistics {
+
+    // 社員番号
+    String employeeCode;
+
+    // 氏名
+    String employeeName;
+
+    // 今月・先月の提出件数
+    int thisMonthCount;
+    int lastMonthCount;
+
+    // 今週・先週の提出件数 (週は月曜始まり)
+    int thisWeekCount;
+    int lastWeekCount;
+
+    // 今月の期限内提出率 (%)。今月の提出がない場合は null
+    Integer onTimeRate;
+
+    // 連続提出日数 (平日)
+    int streak;
+
+}
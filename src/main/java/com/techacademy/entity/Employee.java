@@ -3,6 +3,7 @@ package com.techacademy.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.validator.constraints.Length;
 
@@ -12,6 +13,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
 
@@ -19,6 +21,7 @@ import lombok.Data;
 @Entity
 @Table(name = "employees")
 @SQLRestriction("delete_flg = false")
+@DynamicUpdate // 更新時は変更した列のみ書き込む
 public class Employee {
 
     public static enum Role {
@@ -61,6 +64,15 @@ public class Employee {
     @Column(columnDefinition="TINYINT", nullable = false)
     private boolean deleteFlg;
 
+    // 楽観的排他制御用のバージョン (更新のたびに加算。他のユーザーの更新を上書きしないため)
+    @Version
+    @Column(nullable = false)
+    private Integer version;
+
+    // ログイン状態の世代 (ログアウト・パスワード変更で加算し、それ以前に発行したログイン状態のCookieを無効にする)
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int credentialVersion;
+
     // 登録日時
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -3,6 +3,7 @@ package com.techacademy.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLRestriction;
 
 import jakarta.persistence.*;
@@ -13,10 +14,20 @@ import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+        // 一覧のキーセットページング用 (日付・IDの降順)
+        @Index(name = "idx_reports_date_id", columnList = "report_date, id"),
+        // 従業員別一覧のキーセットページング用
+        @Index(name = "idx_reports_employee_date_id", columnList = "employee_code, report_date, id") }, uniqueConstraints = {
+        // 1従業員1日1件 (論理削除済みの日報は active_key が NULL となり対象外)
+        @UniqueConstraint(name = Report.UK_EMPLOYEE_DATE, columnNames = { "employee_code", "report_date", "active_key" }) })
 @SQLRestriction("delete_flg = 0") // 0 のとき表示
+@DynamicUpdate // 更新時は変更した列のみ書き込む
 public class Report {
 
+    // 同一従業員・同一日付の一意制約名
+    public static final String UK_EMPLOYEE_DATE = "uk_reports_employee_date_active";
+
     // ID (自動採番)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,7 +51,8 @@ public class Report {
     private String content;
 
     // 社員情報 (ManyToOne)
-    @ManyToOne
+    // 一覧は ReportSummary で取得するため、全項目が必要な詳細・更新画面以外では読み込まない
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_code", referencedColumnName = "code", nullable = false)
     private Employee employee;
 
@@ -48,6 +60,16 @@ public class Report {
     @Column(columnDefinition = "TINYINT", nullable = false)
     private boolean deleteFlg;
 
+    // 一意制約用の生成列 (有効: 1, 論理削除済み: NULL)
+    @Column(name = "active_key", insertable = false, updatable = false,
+            columnDefinition = "TINYINT GENERATED ALWAYS AS (CASE WHEN delete_flg = 0 THEN 1 END)")
+    private Integer activeKey;
+
+    // 楽観的排他制御用のバージョン (更新のたびに加算。他のユーザーの更新を上書きしないため)
+    @Version
+    @Column(nullable = false)
+    private Integer version;
+
     // 登録日時
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,50 @@
+package com.techacademy.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// 日報の更新履歴 (1版1行)
+// 一定の版ごとにタイトル・内容を全文で保存し (スナップショット)、それ以外の版は直前の版との差分のみを保存する
+@Entity
+@Data
+@Table(name = "report_revisions", uniqueConstraints = {
+        // 日報ごとの版の検索・重複防止用
+        @UniqueConstraint(name = "uk_report_revisions_report_revision", columnNames = { "report_id", "revision" }) })
+public class ReportRevision {
+
+    // ID (自動採番)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 日報ID
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    // 版 (その版の日報のバージョン)
+    @Column(nullable = false)
+    private Integer revision;
+
+    // スナップショットか (true: 全文、false: 直前の版との差分)
+    @Column(columnDefinition = "TINYINT", nullable = false)
+    private boolean snapshot;
+
+    // 日付
+    @Column(name = "report_date", nullable = false)
+    private LocalDate reportDate;
+
+    // タイトル (全文または差分)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String title;
+
+    // 内容 (全文または差分)
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String content;
+
+    // その版の更新日時
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,10 +1,63 @@
 package com.techacademy.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.techacademy.dto.EmployeeDetail;
+import com.techacademy.dto.EmployeeEnrollment;
+import com.techacademy.dto.EmployeeSummary;
 import com.techacademy.entity.Employee;
 
 public interface EmployeeRepository extends JpaRepository<Employee, String> {
     Employee findByCode(String code);
 
-}
\ No newline at end of file
+    // 有効な従業員の社員番号のみを取得 (パスワード等は読み込まない)
+    @Query("SELECT e.code FROM Employee e")
+    List<String> findAllCodes();
+
+    // 詳細画面の条件付きGET用: 更新日時のみ取得
+    @Query("SELECT e.updatedAt FROM Employee e WHERE e.code = :code")
+    Optional<LocalDateTime> findUpdatedAtByCode(@Param("code") String code);
+
+    // 有効な従業員の一覧 (社員番号順、パスワードを含まない)
+    @Query("SELECT new com.techacademy.dto.EmployeeSummary(e.code, e.name, e.role) FROM Employee e ORDER BY e.code")
+    List<EmployeeSummary> findAllSummaries();
+
+    // API用キーセットページング: 社員番号が after より後の従業員 (社員番号順)
+    @Query("SELECT new com.techacademy.dto.EmployeeSummary(e.code, e.name, e.role) FROM Employee e"
+            + " WHERE e.code > :after ORDER BY e.code")
+    List<EmployeeSummary> findSummariesAfter(@Param("after") String after, Pageable pageable);
+
+    // API用: 従業員詳細 (パスワードを含まない)
+    @Query("SELECT new com.techacademy.dto.EmployeeDetail(e.code, e.name, e.role, e.createdAt, e.updatedAt)"
+            + " FROM Employee e WHERE e.code = :code")
+    Optional<EmployeeDetail> findDetailByCode(@Param("code") String code);
+
+    // 指定した社員番号の従業員 (社員番号順、パスワードを含まない)
+    @Query("SELECT new com.techacademy.dto.EmployeeSummary(e.code, e.name, e.role) FROM Employee e"
+            + " WHERE e.code IN :codes ORDER BY e.code")
+    List<EmployeeSummary> findSummariesByCodeIn(@Param("codes") Collection<String> codes);
+
+    // 有効な従業員の社員番号と登録日時 (登録日時順)
+    @Query("SELECT new com.techacademy.dto.EmployeeEnrollment(e.code, e.createdAt) FROM Employee e"
+            + " ORDER BY e.createdAt, e.code")
+    List<EmployeeEnrollment> findEnrollments();
+
+    // ログイン状態の世代のみ取得 (Cookieの検証・発行用。認証キャッシュを通さずDBの値を参照する)
+    @Query("SELECT e.credentialVersion FROM Employee e WHERE e.code = :code")
+    Optional<Integer> findCredentialVersionByCode(@Param("code") String code);
+
+    // ログイン状態の世代を進める (楽観的排他制御のバージョン・更新日時は変えない)
+    @Modifying
+    @Query("UPDATE Employee e SET e.credentialVersion = e.credentialVersion + 1 WHERE e.code = :code")
+    int incrementCredentialVersion(@Param("code") String code);
+
+}
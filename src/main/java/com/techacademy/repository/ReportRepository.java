@@ -1,14 +1,26 @@
 package com.techacademy.repository;
 
+import com.techacademy.dto.ReportCalendarEntry;
+import com.techacademy.dto.ReportDetail;
+import com.techacademy.dto.ReportSubmission;
+import com.techacademy.dto.ReportSummary;
 import com.techacademy.entity.Employee;
 import com.techacademy.entity.Report;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
@@ -18,10 +30,106 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     // 修正: 従業員コードで検索
     List<Report> findByEmployeeCode(String employeeCode);
 
+    // 従業員コード・日付の下限で検索
+    List<Report> findByEmployeeCodeAndReportDateGreaterThanEqual(String employeeCode, LocalDate since);
+
+    // 日付の下限で検索
+    List<Report> findByReportDateGreaterThanEqual(LocalDate since);
+
     // 修正: ログイン中の従業員のコードと日付を条件に、登録済みの日報があるか確認
+    // (重複チェックは日付の一致が条件のため、該当する月のパーティションのみを読む)
     boolean existsByEmployee_CodeAndReportDate(String employeeCode, LocalDate reportDate);
 
     @Query("SELECT COUNT(r) > 0 FROM Report r WHERE r.employee.code = :employeeCode AND r.reportDate = :reportDate AND r.id <> :currentId")
     boolean existsByEmployee_CodeAndReportDateExcludeCurrent(@Param("employeeCode") String employeeCode, @Param("reportDate") LocalDate reportDate, @Param("currentId") Long currentId);
 
+    // 一覧用の各クエリは日付の下限 (since) を条件に含め、reports テーブルのパーティションのうち対象の月のみを読む
+    // (過去の月も含める場合は ReportService.ALL_DATES_FROM を指定する)
+
+    // 一覧用キーセットページング: 先頭ページ (日付・IDの降順)
+    @Query("SELECT new com.techacademy.dto.ReportSummary(r.id, r.reportDate, r.title, e.code, e.name) FROM Report r JOIN r.employee e WHERE r.reportDate >= :since ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findFirstPage(@Param("since") LocalDate since, Pageable pageable);
+
+    // 一覧用キーセットページング: カーソルより古い日報 (次ページ)
+    @Query("SELECT new com.techacademy.dto.ReportSummary(r.id, r.reportDate, r.title, e.code, e.name) FROM Report r JOIN r.employee e WHERE r.reportDate >= :since AND (r.reportDate < :reportDate OR (r.reportDate = :reportDate AND r.id < :id)) ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findPageAfter(@Param("since") LocalDate since, @Param("reportDate") LocalDate reportDate, @Param("id") Long id, Pageable pageable);
+
+    // 一覧用キーセットページング: カーソルより新しい日報 (前ページ、昇順で取得)
+    @Query("SELECT new com.techacademy.dto.ReportSummary(r.id, r.reportDate, r.title, e.code, e.name) FROM Report r JOIN r.employee e WHERE r.reportDate >= :since AND (r.reportDate > :reportDate OR (r.reportDate = :reportDate AND r.id > :id)) ORDER BY r.reportDate ASC, r.id ASC")
+    List<ReportSummary> findPageBefore(@Param("since") LocalDate since, @Param("reportDate") LocalDate reportDate, @Param("id") Long id, Pageable pageable);
+
+    // 従業員別キーセットページング: 先頭ページ
+    @Query("SELECT new com.techacademy.dto.ReportSummary(r.id, r.reportDate, r.title, e.code, e.name) FROM Report r JOIN r.employee e WHERE e.code = :employeeCode AND r.reportDate >= :since ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findFirstPageByEmployeeCode(@Param("employeeCode") String employeeCode, @Param("since") LocalDate since, Pageable pageable);
+
+    // 従業員別キーセットページング: 次ページ
+    @Query("SELECT new com.techacademy.dto.ReportSummary(r.id, r.reportDate, r.title, e.code, e.name) FROM Report r JOIN r.employee e WHERE e.code = :employeeCode AND r.reportDate >= :since AND (r.reportDate < :reportDate OR (r.reportDate = :reportDate AND r.id < :id)) ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findPageAfterByEmployeeCode(@Param("employeeCode") String employeeCode, @Param("since") LocalDate since, @Param("reportDate") LocalDate reportDate, @Param("id") Long id, Pageable pageable);
+
+    // 従業員別キーセットページング: 前ページ (昇順で取得)
+    @Query("SELECT new com.techacademy.dto.ReportSummary(r.id, r.reportDate, r.title, e.code, e.name) FROM Report r JOIN r.employee e WHERE e.code = :employeeCode AND r.reportDate >= :since AND (r.reportDate > :reportDate OR (r.reportDate = :reportDate AND r.id > :id)) ORDER BY r.reportDate ASC, r.id ASC")
+    List<ReportSummary> findPageBeforeByEmployeeCode(@Param("employeeCode") String employeeCode, @Param("since") LocalDate since, @Param("reportDate") LocalDate reportDate, @Param("id") Long id, Pageable pageable);
+
+    // 件数
+    long countByReportDateGreaterThanEqual(LocalDate since);
+
+    // 従業員別の件数
+    long countByEmployeeCodeAndReportDateGreaterThanEqual(String employeeCode, LocalDate since);
+
+    // 一覧表示用: 全日報 (従業員を結合して1クエリで取得)
+    @Query("SELECT new com.techacademy.dto.ReportSummary(r.id, r.reportDate, r.title, e.code, e.name) FROM Report r JOIN r.employee e WHERE r.reportDate >= :since ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findAllSummaries(@Param("since") LocalDate since);
+
+    // 一覧表示用: 従業員別の日報 (従業員を結合して1クエリで取得)
+    @Query("SELECT new com.techacademy.dto.ReportSummary(r.id, r.reportDate, r.title, e.code, e.name) FROM Report r JOIN r.employee e WHERE e.code = :employeeCode AND r.reportDate >= :since ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findSummariesByEmployeeCode(@Param("employeeCode") String employeeCode, @Param("since") LocalDate since);
+
+    // カレンダー用: 従業員の期間内 (from～to、両端を含む) の日報の日付・ID・タイトル
+    // (従業員・日付の索引 idx_reports_employee_date_id の範囲読み込みのみで、従業員の結合・本文の読み込みは行わない)
+    @Query("SELECT new com.techacademy.dto.ReportCalendarEntry(r.id, r.reportDate, r.title) FROM Report r"
+            + " WHERE r.employee.code = :employeeCode AND r.reportDate BETWEEN :from AND :to ORDER BY r.reportDate")
+    List<ReportCalendarEntry> findCalendarEntries(@Param("employeeCode") String employeeCode,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // API用: 日報詳細 (従業員は社員番号・氏名のみ)
+    @Query("SELECT new com.techacademy.dto.ReportDetail(r.id, r.reportDate, r.title, r.content, e.code, e.name,"
+            + " r.createdAt, r.updatedAt) FROM Report r JOIN r.employee e WHERE r.id = :id")
+    Optional<ReportDetail> findReportDetail(@Param("id") Long id);
+
+    // 詳細・更新画面用: 従業員情報も含めて取得
+    @Query("SELECT r FROM Report r JOIN FETCH r.employee WHERE r.id = :id")
+    Optional<Report> findDetailById(@Param("id") Long id);
+
+    // 従業員の日報を一括で論理削除 (1回あたりlimit件まで。大量データ時に1文の更新件数を抑えるため)
+    // (LIMIT付きのUPDATEはステートメントベースのレプリケーションで対象行を一意にするため ORDER BY を付ける)
+    @Modifying
+    @Query(value = "UPDATE reports SET delete_flg = 1, updated_at = :updatedAt, version = version + 1 WHERE employee_code = :employeeCode AND delete_flg = 0 ORDER BY id LIMIT :limit", nativeQuery = true)
+    int softDeleteByEmployeeCode(@Param("employeeCode") String employeeCode, @Param("updatedAt") LocalDateTime updatedAt, @Param("limit") int limit);
+
+    // エクスポート用: 条件に合う日報を前方向のカーソルで1件ずつ取得
+    // (MySQLではフェッチサイズ Integer.MIN_VALUE で結果セットを全件メモリに載せずに受け取る)
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false") })
+    @Query("SELECT r FROM Report r JOIN FETCH r.employee e WHERE (:fromDate IS NULL OR r.reportDate >= :fromDate)"
+            + " AND (:toDate IS NULL OR r.reportDate <= :toDate) AND (:employeeCode IS NULL OR e.code = :employeeCode)"
+            + " ORDER BY r.reportDate, r.id")
+    Stream<Report> streamForExport(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+            @Param("employeeCode") String employeeCode);
+
+    // 詳細画面の条件付きGET用: 日報・従業員のうち新しい方の更新日時 (エンティティは読み込まない)
+    @Query("SELECT CASE WHEN e.updatedAt > r.updatedAt THEN e.updatedAt ELSE r.updatedAt END FROM Report r JOIN r.employee e WHERE r.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    // API用: 上記と同じ (employeeCode を指定した場合はその従業員の日報のみ。他の従業員の日報は空)
+    @Query("SELECT CASE WHEN e.updatedAt > r.updatedAt THEN e.updatedAt ELSE r.updatedAt END FROM Report r JOIN r.employee e"
+            + " WHERE r.id = :id AND (:employeeCode IS NULL OR e.code = :employeeCode)")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id, @Param("employeeCode") String employeeCode);
+
+    // 集計用: 有効な日報の提出状況 (社員番号・日付・登録日時) を前方向のカーソルで取得
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT new com.techacademy.dto.ReportSubmission(e.code, r.reportDate, r.createdAt) FROM Report r JOIN r.employee e")
+    Stream<ReportSubmission> streamSubmissions();
+
 }
@@ -0,0 +1,26 @@
+package com.techacademy.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.techacademy.entity.ReportRevision;
+
+public interface ReportRevisionRepository extends JpaRepository<ReportRevision, Long> {
+
+    boolean existsByReportIdAndRevision(Long reportId, Integer revision);
+
+    // 日報の全履歴 (古い順)
+    List<ReportRevision> findByReportIdOrderByRevision(Long reportId);
+
+    // 指定した版以前で最新のスナップショットの版
+    @Query("SELECT MAX(r.revision) FROM ReportRevision r"
+            + " WHERE r.reportId = :reportId AND r.snapshot = true AND r.revision <= :revision")
+    Optional<Integer> findSnapshotRevision(@Param("reportId") Long reportId, @Param("revision") int revision);
+
+    // 版の範囲 (from～to、両端を含む、古い順)
+    List<ReportRevision> findByReportIdAndRevisionBetweenOrderByRevision(Long reportId, int from, int to);
+}
@@ -0,0 +1,146 @@
+package com.techacademy.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.techacademy.dto.AuditEvent;
+import com.techacademy.dto.AuditEvent.Action;
+import com.techacademy.dto.AuditEvent.Target;
+
+// 日報・従業員の登録・更新・削除の監査ログ
+// 呼び出し元ではリングバッファへ追加するだけで、ファイルへの書き込みは専用スレッドがまとめて行う
+// (書き込みが追いつかずバッファが満杯の場合、その記録は破棄して件数を計測する)
+@Component
+public class AuditLog implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    // 操作者が取得できない処理 (一括取込など) の操作者
+    public static final String SYSTEM_ACTOR = "SYSTEM";
+
+    // 1回のファイル書き込みでまとめる最大件数
+    private static final int BATCH_SIZE = 512;
+
+    private final boolean enabled;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final AuditSegmentWriter writer;
+    private final long flushIntervalNanos;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    // 計測値
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    @Autowired
+    public AuditLog(@Value("${app.audit.enabled:true}") boolean enabled,
+            @Value("${app.audit.directory:audit}") String directory,
+            @Value("${app.audit.segment-size-mb:16}") int segmentSizeMegabytes,
+            @Value("${app.audit.buffer-size:8192}") int bufferSize,
+            @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMillis) throws IOException {
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        if (enabled) {
+            this.writer = new AuditSegmentWriter(Path.of(directory), segmentSizeMegabytes * 1024 * 1024);
+            this.writerThread = Thread.ofPlatform().name("audit-log-writer").daemon(true).start(this::writeLoop);
+        } else {
+            this.writer = null;
+            this.writerThread = null;
+        }
+    }
+
+    // 記録 (トランザクション内の場合はコミット後に追加し、ロールバックされた操作は記録しない)
+    public void record(Action action, Target target, Object targetId, String employeeCode) {
+        if (!enabled) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(LocalDateTime.now(), currentActor(), action, target,
+                String.valueOf(targetId), employeeCode);
+        AfterCommit.run(() -> {
+            if (!buffer.offer(event)) {
+                droppedCount.increment();
+            }
+        });
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? SYSTEM_ACTOR : authentication.getName();
+    }
+
+    // 書き込み用スレッド: 溜まった記録をまとめて書き込み、無ければ一定時間待つ
+    private void writeLoop() {
+        List<AuditEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            if (buffer.drain(batch::add, BATCH_SIZE) == 0) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+        }
+    }
+
+    // 書き込みに失敗したバッチは破棄して件数を計測する (実行時例外でも書き込み用スレッドは止めない)
+    private void write(List<AuditEvent> batch) {
+        try {
+            writer.append(batch);
+            writtenCount.add(batch.size());
+        } catch (IOException | RuntimeException e) {
+            failedCount.add(batch.size());
+            log.error("監査ログの書き込みに失敗しました ({}件を破棄)", batch.size(), e);
+        }
+        batch.clear();
+    }
+
+    // 終了時は書き込み用スレッドを止め、残りを書き込んでから閉じる
+    @Override
+    public void destroy() throws Exception {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        if (writerThread.isAlive()) {
+            return; // 取り出しは1スレッドに限るため、書き込み中のスレッドに任せる
+        }
+        List<AuditEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (buffer.drain(batch::add, BATCH_SIZE) > 0) {
+            write(batch);
+        }
+        writer.close();
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+}
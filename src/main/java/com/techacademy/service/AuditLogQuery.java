@@ -0,0 +1,68 @@
+package com.techacademy.service;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// 監査ログの検索ツール (コマンドライン)
+// 例: java -cp target/classes com.techacademy.service.AuditLogQuery --dir audit --employee E000001 --from 2025-04-01 --to 2025-04-08T12:00
+//   --dir      : 監査ログのディレクトリ (省略時は audit)
+//   --employee : 操作者または対象の社員番号
+//   --from     : この日時以降 (日付のみの場合は0時)
+//   --to       : この日時より前 (日付のみの場合は0時)
+// 一致した記録を古い順にタブ区切りで出力する
+public final class AuditLogQuery {
+
+    private AuditLogQuery() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String directory = "audit";
+        String employeeCode = null;
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                if (i + 1 >= args.length) {
+                    usage("値が指定されていません: " + name);
+                    return;
+                }
+                String value = args[++i];
+                switch (name) {
+                case "--dir" -> directory = value;
+                case "--employee" -> employeeCode = value;
+                case "--from" -> from = parseDateTime(value);
+                case "--to" -> to = parseDateTime(value);
+                default -> {
+                    usage("不明なオプションです: " + name);
+                    return;
+                }
+                }
+            }
+        } catch (DateTimeParseException e) {
+            usage("日時の形式が正しくありません: " + e.getParsedString());
+            return;
+        }
+
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        new AuditLogReader(Path.of(directory)).scan(employeeCode, from, to,
+                event -> out.print(AuditSegmentWriter.format(event)));
+        out.flush();
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println(
+                "使い方: AuditLogQuery [--dir ディレクトリ] [--employee 社員番号] [--from 日時] [--to 日時]");
+        System.exit(2);
+    }
+}
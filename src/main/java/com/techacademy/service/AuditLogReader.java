@@ -0,0 +1,109 @@
+package com.techacademy.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import com.techacademy.dto.AuditEvent;
+
+// 監査ログのセグメントファイルを古い順に読み込み、条件に一致する記録を返す
+public class AuditLogReader {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d+)\\.log");
+
+    private final Path directory;
+
+    public AuditLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    // employeeCode: 操作者または対象の社員番号 (null は全件)、from～to: 操作日時 (null は制限なし、to は含まない)
+    public void scan(String employeeCode, LocalDateTime from, LocalDateTime to, Consumer<AuditEvent> consumer)
+            throws IOException {
+        for (Path segment : segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == 0) {
+                        break; // 未使用部分
+                    }
+                    if (b != AuditSegmentWriter.RECORD_SEPARATOR) {
+                        line.write(b);
+                        continue;
+                    }
+                    AuditEvent event = parse(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    if (event != null && matches(event, employeeCode, from, to)) {
+                        consumer.accept(event);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean matches(AuditEvent event, String employeeCode, LocalDateTime from, LocalDateTime to) {
+        if (employeeCode != null && !employeeCode.equals(event.getActor())
+                && !employeeCode.equals(event.getEmployeeCode())) {
+            return false;
+        }
+        if (from != null && event.getOccurredAt().isBefore(from)) {
+            return false;
+        }
+        return to == null || event.getOccurredAt().isBefore(to);
+    }
+
+    // 読み込めない行 (書き込み途中で停止した場合など) は null
+    static AuditEvent parse(String line) {
+        String[] fields = line.split(String.valueOf(AuditSegmentWriter.FIELD_SEPARATOR), -1);
+        if (fields.length != 6) {
+            return null;
+        }
+        try {
+            return new AuditEvent(LocalDateTime.parse(fields[0]), fields[1], AuditEvent.Action.valueOf(fields[2]),
+                    AuditEvent.Target.valueOf(fields[3]), fields[4], fields[5]);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("audit-%08d.log", number));
+    }
+
+    // セグメントファイル (番号順)
+    static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches()).sorted()
+                    .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    static long lastSegmentNumber(Path directory) throws IOException {
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        Matcher matcher = SEGMENT_NAME.matcher(segments.get(segments.size() - 1).getFileName().toString());
+        matcher.matches();
+        return Long.parseLong(matcher.group(1));
+    }
+}
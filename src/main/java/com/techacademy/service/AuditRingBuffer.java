@@ -0,0 +1,79 @@
+package com.techacademy.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+// 複数スレッドから追加し、1スレッドが取り出す固定長のリングバッファ (ロックを使わない)
+// 各枠の通し番号で「書き込み済み」「取り出し済み」を判定する。満杯の場合は待たずに追加を諦める
+public class AuditRingBuffer<T> {
+
+    private final Object[] items;
+    // 枠ごとの通し番号 (n: 位置 n に書き込める、n + 1: 位置 n を取り出せる)
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    // 次に書き込む位置 (追加するスレッドが奪い合う)
+    private final AtomicLong tail = new AtomicLong();
+    // 次に取り出す位置 (取り出すスレッドのみ更新する)
+    private volatile long head;
+
+    // capacity: 2のべき乗に切り上げる
+    public AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.items = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // 追加 (満杯の場合は false)
+    public boolean offer(T item) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[index] = item;
+                    // 通し番号の更新で書き込んだ要素を取り出し側へ公開する
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    // 書き込み済みの要素を最大 max 件取り出す (取り出すスレッドは1つに限る)
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<T> consumer, int max) {
+        long position = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            T item = (T) items[index];
+            items[index] = null;
+            sequences.lazySet(index, position + items.length);
+            head = ++position;
+            count++;
+            consumer.accept(item);
+        }
+        return count;
+    }
+
+    // おおよその件数
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+}
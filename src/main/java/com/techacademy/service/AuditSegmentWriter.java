@@ -0,0 +1,92 @@
+package com.techacademy.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.techacademy.dto.AuditEvent;
+
+// 監査ログを追記専用のセグメントファイルへ書き込む (1スレッドからのみ呼び出す)
+// 各セグメントは固定サイズでメモリマップし、空きが足りなくなったら次のセグメントへ切り替える
+// 1件は1行 (タブ区切り: 日時・操作者・操作・対象・対象ID・社員番号)。未使用部分は0のまま残る
+public class AuditSegmentWriter implements Closeable {
+
+    static final char FIELD_SEPARATOR = '\t';
+    static final char RECORD_SEPARATOR = '\n';
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private long segmentNumber;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    // 起動のたびに新しいセグメントから書き始める (既存のセグメントには追記しない)
+    public AuditSegmentWriter(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        this.segmentNumber = AuditLogReader.lastSegmentNumber(directory);
+    }
+
+    // 書き込み、ディスクへ反映する
+    public void append(List<AuditEvent> events) throws IOException {
+        for (AuditEvent event : events) {
+            byte[] record = format(event).getBytes(StandardCharsets.UTF_8);
+            if (record.length > segmentSize) {
+                throw new IOException("監査ログの1件がセグメントサイズを超えています");
+            }
+            if (buffer == null || buffer.remaining() < record.length) {
+                rotate();
+            }
+            buffer.put(record);
+        }
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    private void rotate() throws IOException {
+        closeSegment();
+        segmentNumber++;
+        channel = FileChannel.open(AuditLogReader.segmentPath(directory, segmentNumber), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    static String format(AuditEvent event) {
+        return new StringBuilder().append(event.getOccurredAt()).append(FIELD_SEPARATOR)
+                .append(clean(event.getActor())).append(FIELD_SEPARATOR).append(event.getAction())
+                .append(FIELD_SEPARATOR).append(event.getTarget()).append(FIELD_SEPARATOR)
+                .append(clean(event.getTargetId())).append(FIELD_SEPARATOR).append(clean(event.getEmployeeCode()))
+                .append(RECORD_SEPARATOR).toString();
+    }
+
+    // 区切り文字を含む値は空白に置き換える
+    private static String clean(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace(FIELD_SEPARATOR, ' ').replace(RECORD_SEPARATOR, ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,170 @@
+package com.techacademy.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// パスワードのハッシュ化・照合を専用のスレッドプールで実行する PasswordEncoder
+// BCrypt はCPUを占有するため、ログインが集中してもリクエスト処理スレッドを使い切らないよう
+// 同時実行数と待ち行列の長さを制限し、待ち行列が一杯の場合は即座に拒否する
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    // 計測値 (ハッシュ処理時間・待ち行列での待ち時間)
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder hashNanosTotal = new LongAdder();
+    private final LongAccumulator hashNanosMax = new LongAccumulator(Math::max, 0);
+    private final LongAdder queueWaitNanosTotal = new LongAdder();
+    private final LongAccumulator queueWaitNanosMax = new LongAccumulator(Math::max, 0);
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // ハッシュ化を依頼し、完了を待たずに返す (一括登録用。結果は await で受け取る)
+    // 待ち行列が一杯の場合は PasswordHashingRejectedException
+    public Future<String> submitEncode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    // 依頼した処理の完了を待つ (timeout-ms を超えた場合は PasswordHashingRejectedException)
+    public <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.increment();
+            throw new PasswordHashingRejectedException("パスワード処理がタイムアウトしました", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("パスワード処理が中断されました", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private <T> T execute(Callable<T> task) {
+        return await(submit(task));
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                recordMax(queueWaitNanosTotal, queueWaitNanosMax, startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    recordMax(hashNanosTotal, hashNanosMax, System.nanoTime() - startedAt);
+                    completedCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new PasswordHashingRejectedException("パスワード処理が混雑しています", e);
+        }
+    }
+
+    private static void recordMax(LongAdder total, LongAccumulator max, long nanos) {
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    // 処理スレッド数
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    // 現在の待ち行列の長さ
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    // 実行中の件数
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    // 待ち行列が一杯・タイムアウトにより拒否した件数
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getHashNanosTotal() {
+        return hashNanosTotal.sum();
+    }
+
+    public long getHashNanosMax() {
+        return hashNanosMax.get();
+    }
+
+    public long getQueueWaitNanosTotal() {
+        return queueWaitNanosTotal.sum();
+    }
+
+    public long getQueueWaitNanosMax() {
+        return queueWaitNanosMax.get();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.techacademy.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.techacademy.constants.ErrorKinds;
+
+// 従業員一括登録の結果 (行ごとの結果。行番号順)
+public class EmployeeImportResult {
+
+    private final List<Row> rows = new ArrayList<>();
+    private long importedCount;
+    private long errorCount;
+
+    void add(int lineNumber, String code, ErrorKinds result, String message) {
+        rows.add(new Row(lineNumber, code, result, message));
+        if (result == ErrorKinds.SUCCESS) {
+            importedCount++;
+        } else {
+            errorCount++;
+        }
+    }
+
+    void sort() {
+        rows.sort(Comparator.comparingInt(Row::getLineNumber));
+    }
+
+    // 登録件数
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    // エラー件数
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    // 1行の結果 (登録できた場合は SUCCESS)
+    public static class Row {
+        private final int lineNumber;
+        private final String code;
+        private final ErrorKinds result;
+        private final String message;
+
+        Row(int lineNumber, String code, ErrorKinds result, String message) {
+            this.lineNumber = lineNumber;
+            this.code = code;
+            this.result = result;
+            this.message = message;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public ErrorKinds getResult() {
+            return result;
+        }
+
+        // エラー内容 (登録できた場合は null)
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.techacademy.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techacademy.constants.ErrorKinds;
+import com.techacademy.constants.ErrorMessage;
+import com.techacademy.dto.AuditEvent.Action;
+import com.techacademy.dto.AuditEvent.Target;
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Employee.Role;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// 従業員一括登録 (CSV: 社員番号,氏名,権限,パスワード)
+// 全行の入力チェック後、社員番号の重複 (論理削除済みを含む) をIN句でまとめて確認し、
+// パスワードのハッシュ化をハッシュ化用スレッドで並列に行ってから、JDBCのバッチINSERTで登録する
+@Service
+public class EmployeeImportService {
+
+    // 1ファイルの最大行数
+    public static final int MAX_ROWS = 10000;
+
+    // CSVのヘッダー行 (1列目がこの値の場合は読み飛ばす)
+    private static final String CSV_HEADER = "code";
+
+    private static final String INSERT_SQL = "INSERT INTO employees (code, name, role, password, delete_flg, version, created_at, updated_at)"
+            + " VALUES (:code, :name, :role, :password, 0, 0, :createdAt, :updatedAt)";
+
+    // 論理削除済みの従業員も対象とする (社員番号は主キーのため再利用できない)
+    private static final String EXISTING_SQL = "SELECT code, delete_flg FROM employees WHERE code IN (:codes)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final UserDetailCache userDetailCache;
+    private final ReportSubmissionIndex reportSubmissionIndex;
+    private final AuditLog auditLog;
+    private final int batchSize;
+
+    @Autowired
+    public EmployeeImportService(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            Validator validator, BoundedPasswordEncoder passwordEncoder, UserDetailCache userDetailCache,
+            ReportSubmissionIndex reportSubmissionIndex, AuditLog auditLog,
+            @Value("${app.employee-import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailCache = userDetailCache;
+        this.reportSubmissionIndex = reportSubmissionIndex;
+        this.auditLog = auditLog;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // 従業員一括登録
+    public EmployeeImportResult importEmployees(InputStream inputStream) throws IOException {
+        EmployeeImportResult result = new EmployeeImportResult();
+        List<ImportRow> rows = read(inputStream, result);
+        excludeExisting(rows, result);
+        hashPasswords(rows, result);
+        insert(rows, result);
+        result.sort();
+        return result;
+    }
+
+    // 全行を読み込み、入力チェック・ファイル内の重複チェックを行う (エラーの行は結果へ追加し、登録対象のみ返す)
+    private List<ImportRow> read(InputStream inputStream, EmployeeImportResult result) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        CsvReader csvReader = new CsvReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        List<String> fields;
+        while ((fields = csvReader.readRecord()) != null) {
+            int lineNumber = csvReader.getRecordLineNumber();
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (lineNumber == 1 && CSV_HEADER.equalsIgnoreCase(fields.get(0).trim())) {
+                continue;
+            }
+            String code = fields.get(0).trim();
+            if (rows.size() + result.getErrorCount() >= MAX_ROWS) {
+                result.add(lineNumber, code, ErrorKinds.FORMAT_ERROR, MAX_ROWS + "行を超えるため登録しません");
+                continue;
+            }
+            if (fields.size() != 4) {
+                result.add(lineNumber, code, ErrorKinds.FORMAT_ERROR, "列数が正しくありません");
+                continue;
+            }
+            ImportRow row = toRow(lineNumber, code, fields.get(1).trim(), fields.get(2).trim(), fields.get(3), result);
+            if (row == null) {
+                continue;
+            }
+            if (!keys.add(row.key())) {
+                error(result, row, ErrorKinds.DUPLICATE_ERROR);
+                continue;
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private ImportRow toRow(int lineNumber, String code, String name, String role, String password,
+            EmployeeImportResult result) {
+        Employee employee = new Employee();
+        employee.setCode(code);
+        employee.setName(name);
+        employee.setRole(parseRole(role));
+        if (employee.getRole() == null) {
+            result.add(lineNumber, code, ErrorKinds.FORMAT_ERROR, "権限は GENERAL (一般) または ADMIN (管理者) を指定してください");
+            return null;
+        }
+
+        // 従業員登録画面と同じ入力チェック (Employee の Bean Validation・パスワードの形式) を適用
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<Employee> violation = violations.iterator().next();
+            result.add(lineNumber, code, ErrorKinds.FORMAT_ERROR,
+                    violation.getPropertyPath() + ": " + violation.getMessage());
+            return null;
+        }
+        ErrorKinds passwordCheck = password.isEmpty() ? ErrorKinds.BLANK_ERROR
+                : EmployeeService.checkPasswordFormat(password);
+        if (passwordCheck != ErrorKinds.CHECK_OK) {
+            result.add(lineNumber, code, passwordCheck, ErrorMessage.getErrorValue(passwordCheck));
+            return null;
+        }
+        return new ImportRow(lineNumber, employee, password);
+    }
+
+    private static Role parseRole(String role) {
+        for (Role value : Role.values()) {
+            if (value.name().equalsIgnoreCase(role) || value.getValue().equals(role)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    // 登録済みの社員番号 (論理削除済みを含む) の行を除外する
+    private void excludeExisting(List<ImportRow> rows, EmployeeImportResult result) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<ImportRow> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            Map<String, Boolean> existing = findExisting(batch);
+            for (ImportRow row : batch) {
+                Boolean deleted = existing.get(row.key());
+                if (deleted != null) {
+                    // 論理削除済みの社員番号は、従業員登録画面では一意制約違反の例外として検出している
+                    row.error = deleted ? ErrorKinds.DUPLICATE_EXCEPTION_ERROR : ErrorKinds.DUPLICATE_ERROR;
+                    error(result, row, row.error);
+                }
+            }
+        }
+        rows.removeIf(row -> row.error != null);
+    }
+
+    // 社員番号 (比較用のキー) → 論理削除済みか
+    private Map<String, Boolean> findExisting(List<ImportRow> batch) {
+        List<String> codes = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            codes.add(row.employee.getCode());
+        }
+        Map<String, Boolean> existing = new HashMap<>();
+        jdbcTemplate.query(EXISTING_SQL, new MapSqlParameterSource("codes", codes), (RowCallbackHandler) rs -> {
+            existing.put(key(rs.getString(1)), rs.getBoolean(2));
+        });
+        return existing;
+    }
+
+    // パスワードのハッシュ化 (ハッシュ化用スレッドへ直接依頼する)
+    // 未完了の依頼はスレッド数までとし、ログイン時の照合と共用する待ち行列を一括登録で埋めない
+    // 混雑・タイムアウトで受け付けられなかった行はエラーとし、残りの行は登録する
+    private void hashPasswords(List<ImportRow> rows, EmployeeImportResult result) {
+        int window = passwordEncoder.getPoolSize();
+        ArrayDeque<ImportRow> pending = new ArrayDeque<>(window);
+        for (ImportRow row : rows) {
+            if (pending.size() == window) {
+                completeHash(pending.poll(), result);
+            }
+            try {
+                row.hash = passwordEncoder.submitEncode(row.password);
+                pending.add(row);
+            } catch (PasswordHashingRejectedException e) {
+                hashRejected(result, row);
+            }
+        }
+        while (!pending.isEmpty()) {
+            completeHash(pending.poll(), result);
+        }
+        rows.removeIf(row -> row.error != null);
+    }
+
+    private void completeHash(ImportRow row, EmployeeImportResult result) {
+        try {
+            row.employee.setPassword(passwordEncoder.await(row.hash));
+        } catch (PasswordHashingRejectedException e) {
+            hashRejected(result, row);
+        }
+    }
+
+    private static void hashRejected(EmployeeImportResult result, ImportRow row) {
+        row.error = ErrorKinds.PASSWORD_BUSY_ERROR;
+        error(result, row, row.error);
+    }
+
+    // batch-size 件ごとにバッチINSERTで登録 (1バッチ1トランザクション)
+    private void insert(List<ImportRow> rows, EmployeeImportResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<ImportRow> batch = new ArrayList<>(rows.subList(from, Math.min(from + batchSize, rows.size())));
+            try {
+                insertBatch(batch, now, false);
+            } catch (DuplicateKeyException e) {
+                // 重複確認の後に他の操作で登録された社員番号は、確認し直したうえで1行ずつ登録し、一意制約に違反した行のみエラーとする
+                excludeExisting(batch, result);
+                insertBatch(batch, now, true);
+            }
+            for (ImportRow row : batch) {
+                if (row.error != null) {
+                    error(result, row, row.error);
+                } else {
+                    result.add(row.lineNumber, row.employee.getCode(), ErrorKinds.SUCCESS, null);
+                }
+            }
+        }
+    }
+
+    // eachRow が true の場合は1行ずつINSERTし、一意制約に違反した行を DUPLICATE_ERROR とする
+    private void insertBatch(List<ImportRow> batch, LocalDateTime now, boolean eachRow) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            MapSqlParameterSource[] params = new MapSqlParameterSource[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Employee employee = batch.get(i).employee;
+                params[i] = new MapSqlParameterSource().addValue("code", employee.getCode())
+                        .addValue("name", employee.getName()).addValue("role", employee.getRole().name())
+                        .addValue("password", employee.getPassword()).addValue("createdAt", Timestamp.valueOf(now))
+                        .addValue("updatedAt", Timestamp.valueOf(now));
+            }
+            List<ImportRow> inserted = new ArrayList<>(batch.size());
+            if (eachRow) {
+                for (int i = 0; i < batch.size(); i++) {
+                    // 1行のINSERTの失敗はその文のみ取り消され、トランザクションは継続する
+                    try {
+                        jdbcTemplate.update(INSERT_SQL, params[i]);
+                    } catch (DuplicateKeyException e) {
+                        batch.get(i).error = ErrorKinds.DUPLICATE_ERROR;
+                        continue;
+                    }
+                    inserted.add(batch.get(i));
+                }
+            } else {
+                jdbcTemplate.batchUpdate(INSERT_SQL, params);
+                inserted.addAll(batch);
+            }
+            for (ImportRow row : inserted) {
+                String code = row.employee.getCode();
+                // 認証キャッシュを無効化・監査ログ (従業員登録画面と同じ)
+                userDetailCache.invalidate(code);
+                auditLog.record(Action.CREATE, Target.EMPLOYEE, code, code);
+            }
+            // 未提出者の索引へ反映
+            AfterCommit.run(() -> {
+                for (ImportRow row : inserted) {
+                    reportSubmissionIndex.enroll(row.employee.getCode(), now);
+                }
+            });
+        });
+    }
+
+    private static void error(EmployeeImportResult result, ImportRow row, ErrorKinds error) {
+        result.add(row.lineNumber, row.employee.getCode(), error, ErrorMessage.getErrorValue(error));
+    }
+
+    // 社員番号の比較用のキー (MySQLの照合順序では大文字・小文字を区別しないため揃える)
+    private static String key(String code) {
+        return code.toLowerCase(Locale.ROOT);
+    }
+
+    // 登録対象の1行
+    private static final class ImportRow {
+        private final int lineNumber;
+        private final Employee employee;
+        private final String password;
+        private Future<String> hash;
+        private ErrorKinds error;
+
+        private ImportRow(int lineNumber, Employee employee, String password) {
+            this.lineNumber = lineNumber;
+            this.employee = employee;
+            this.password = password;
+        }
+
+        private String key() {
+            return EmployeeImportService.key(employee.getCode());
+        }
+    }
+}
@@ -2,35 +2,62 @@ package com.techacademy.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.micrometer.core.annotation.Timed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.techacademy.constants.ErrorKinds;
+import com.techacademy.dto.AuditEvent.Action;
+import com.techacademy.dto.AuditEvent.Target;
+import com.techacademy.dto.EmployeeDetail;
+import com.techacademy.dto.EmployeeSummary;
 import com.techacademy.entity.Employee;
-import com.techacademy.entity.Report;
 import com.techacademy.repository.EmployeeRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+// 公開メソッドごとの処理時間を計測 (タグ class・method で区別)
+@Timed(value = "app.employee.service", percentiles = { 0.5, 0.95, 0.99 })
 @Service
 public class EmployeeService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmployeeService.class);
+
+    private static final Pattern HALFSIZE_PATTERN = Pattern.compile("^[A-Za-z0-9]+$");
+
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
     private final ReportService reportService;
+    private final UserDetailCache userDetailCache;
+    private final ReportSearchIndex reportSearchIndex;
+    private final ReportSubmissionIndex reportSubmissionIndex;
+    private final AuditLog auditLog;
+    private final TransactionTemplate transactionTemplate;
 
 
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository, PasswordEncoder passwordEncoder, ReportService reportService) {
+    public EmployeeService(EmployeeRepository employeeRepository, PasswordEncoder passwordEncoder, ReportService reportService,
+            UserDetailCache userDetailCache, ReportSearchIndex reportSearchIndex,
+            ReportSubmissionIndex reportSubmissionIndex, AuditLog auditLog, TransactionTemplate transactionTemplate) {
         this.employeeRepository = employeeRepository;
         this.passwordEncoder = passwordEncoder;
         this.reportService = reportService;
-
+        this.userDetailCache = userDetailCache;
+        this.reportSearchIndex = reportSearchIndex;
+        this.reportSubmissionIndex = reportSubmissionIndex;
+        this.auditLog = auditLog;
+        this.transactionTemplate = transactionTemplate;
 
     }
 
@@ -56,39 +83,69 @@ public class EmployeeService {
         employee.setUpdatedAt(now);
 
         employeeRepository.save(employee);
+        // 認証キャッシュを無効化
+        userDetailCache.invalidate(employee.getCode());
+        // 監査ログ
+        auditLog.record(Action.CREATE, Target.EMPLOYEE, employee.getCode(), employee.getCode());
+        // 未提出者の索引へ反映
+        AfterCommit.run(() -> reportSubmissionIndex.enroll(employee.getCode(), now));
         return ErrorKinds.SUCCESS;
     }
 
     // 従業員削除
-    @Transactional
+    // (従業員の論理削除をコミットしてから、日報をチャンクごとのトランザクションで論理削除する)
     public ErrorKinds delete(String code, UserDetail userDetail) {
 
         // 自分を削除しようとした場合はエラーメッセージを表示
         if (code.equals(userDetail.getEmployee().getCode())) {
             return ErrorKinds.LOGINCHECK_ERROR;
         }
-        Employee employee = findByCode(code);
-        LocalDateTime now = LocalDateTime.now();
-        employee.setUpdatedAt(now);
-        employee.setDeleteFlg(true);
-
-        // **🟢 削除対象の従業員に紐づく日報を取得**
-        List<Report> reportList = reportService.findByEmployee(employee);
-
-        // **🟢 日報情報を論理削除**
-        for (Report report : reportList) {
-            reportService.delete(report.getId()); // **論理削除を適用**
-        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee employee = findByCode(code);
+            LocalDateTime now = LocalDateTime.now();
+            employee.setUpdatedAt(now);
+            employee.setDeleteFlg(true);
+            // 認証キャッシュを無効化 (削除後は即時ログイン不可とする)
+            userDetailCache.invalidate(code);
+            // 監査ログ (日報の一括削除は従業員の削除として1件で記録する)
+            auditLog.record(Action.DELETE, Target.EMPLOYEE, code, code);
+            AfterCommit.run(() -> reportSubmissionIndex.withdraw(code));
+        });
+
+        // **🟢 削除対象の従業員に紐づく日報を一括で論理削除**
+        // (途中で失敗した場合は ReportService が削除済みの件数をログに残し、例外を送出する)
+        int deletedReports = reportService.deleteByEmployeeCode(code);
+        log.info("従業員 {} を削除しました (日報 {}件を論理削除)", code, deletedReports);
 
         return ErrorKinds.SUCCESS;
     }
 
     // 従業員一覧表示処理
+    @Transactional(readOnly = true)
     public List<Employee> findAll() {
         return employeeRepository.findAll();
     }
 
+    // 従業員一覧 (API用キーセットページング。社員番号が after より後を最大 limit 件、社員番号順)
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findSummaries(String after, int limit) {
+        return employeeRepository.findSummariesAfter(after == null ? "" : after, PageRequest.of(0, limit));
+    }
+
+    // 従業員詳細 (API用。パスワードを含まない)
+    @Transactional(readOnly = true)
+    public Optional<EmployeeDetail> findDetailByCode(String code) {
+        return employeeRepository.findDetailByCode(code);
+    }
+
+    // 従業員の最終更新日時 (条件付きGET用)
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findUpdatedAtByCode(String code) {
+        return employeeRepository.findUpdatedAtByCode(code);
+    }
+
     // 1件を検索
+    @Transactional(readOnly = true)
     public Employee findByCode(String code) {
         // findByIdで検索
         Optional<Employee> option = employeeRepository.findById(code);
@@ -100,68 +157,111 @@ public class EmployeeService {
     // 従業員パスワードチェック
     private ErrorKinds employeePasswordCheck(Employee employee) {
 
+        ErrorKinds result = checkPasswordFormat(employee.getPassword());
+        if (result != ErrorKinds.CHECK_OK) {
+            return result;
+        }
+
+        employee.setPassword(passwordEncoder.encode(employee.getPassword()));
+
+        return ErrorKinds.CHECK_OK;
+    }
+
+    // 従業員パスワードの形式チェック (ハッシュ化前。一括登録でも使用する)
+    static ErrorKinds checkPasswordFormat(String password) {
+
         // 従業員パスワードの半角英数字チェック処理
-        if (isHalfSizeCheckError(employee)) {
+        if (isHalfSizeCheckError(password)) {
 
             return ErrorKinds.HALFSIZE_ERROR;
         }
 
         // 従業員パスワードの8文字～16文字チェック処理
-        if (isOutOfRangePassword(employee)) {
+        if (isOutOfRangePassword(password)) {
 
             return ErrorKinds.RANGECHECK_ERROR;
         }
 
-        employee.setPassword(passwordEncoder.encode(employee.getPassword()));
-
         return ErrorKinds.CHECK_OK;
     }
 
     // 従業員パスワードの半角英数字チェック処理
-    private boolean isHalfSizeCheckError(Employee employee) {
+    private static boolean isHalfSizeCheckError(String password) {
 
         // 半角英数字チェック
-        Pattern pattern = Pattern.compile("^[A-Za-z0-9]+$");
-        Matcher matcher = pattern.matcher(employee.getPassword());
+        Matcher matcher = HALFSIZE_PATTERN.matcher(password);
         return !matcher.matches();
     }
 
     // 従業員パスワードの8文字～16文字チェック処理
     public boolean isOutOfRangePassword(Employee employee) {
+        return isOutOfRangePassword(employee.getPassword());
+    }
+
+    private static boolean isOutOfRangePassword(String password) {
 
         // 桁数チェック
-        int passwordLength = employee.getPassword().length();
+        int passwordLength = password.length();
         return passwordLength < 8 || 16 < passwordLength;
     }
 
 
     // 従業員情報の更新
+    // 画面表示時のバージョンと異なる場合 (他のユーザーが先に更新済み) は更新しない
+    // 取得した従業員へ変更内容を反映し、変更列のみのバージョン付きUPDATEで更新する
+    @Transactional
     public ErrorKinds updateEmployee(Employee employee) {
-        // 既存の従業員データを取得
-        Employee existingEmployee = employeeRepository.findById(employee.getCode()).orElseThrow();
-
         // パスワードが空欄でない場合のみバリデーションチェックを適用
-        if (employee.getPassword() != null && !employee.getPassword().trim().isEmpty()) {
+        // (入力エラーの場合はDBへ問い合わせない)
+        boolean passwordChanged = employee.getPassword() != null && !employee.getPassword().trim().isEmpty();
+        if (passwordChanged) {
             ErrorKinds passwordValidation = employeePasswordCheck(employee);
             if (passwordValidation != ErrorKinds.CHECK_OK) {
                 return passwordValidation;
             }
-            employee.setPassword(passwordEncoder.encode(employee.getPassword())); // パスワードを暗号化
-        } else {
-            // パスワードが空欄なら既存の値を維持
-            employee.setPassword(existingEmployee.getPassword());
         }
 
-        // `created_at` の値を維持
-        employee.setCreatedAt(existingEmployee.getCreatedAt());
+        // 既存の従業員データを取得
+        Employee existingEmployee = employeeRepository.findById(employee.getCode()).orElseThrow();
+        if (!Objects.equals(existingEmployee.getVersion(), employee.getVersion())) {
+            return ErrorKinds.OPTIMISTIC_LOCK_ERROR;
+        }
+
+        // パスワードは employeePasswordCheck で暗号化済み (二重にハッシュ化しない)、空欄なら既存の値を維持
+        // パスワードを変更した場合は、変更前に発行したログイン状態のCookieも無効にする
+        if (passwordChanged) {
+            existingEmployee.setPassword(employee.getPassword());
+            existingEmployee.setCredentialVersion(existingEmployee.getCredentialVersion() + 1);
+        }
+        existingEmployee.setName(employee.getName());
+        existingEmployee.setRole(employee.getRole());
 
         // `updated_at` を現在時刻に更新
-        employee.setUpdatedAt(LocalDateTime.now());
+        existingEmployee.setUpdatedAt(LocalDateTime.now());
 
-        // データを更新
-        employeeRepository.save(employee);
+        // データを更新 (変更列のみ書き込み、他のユーザーが先に更新していれば ObjectOptimisticLockingFailureException)
+        employeeRepository.saveAndFlush(existingEmployee);
+        // 認証キャッシュを無効化 (権限変更を即時反映する)
+        userDetailCache.invalidate(employee.getCode());
+        auditLog.record(Action.UPDATE, Target.EMPLOYEE, employee.getCode(), employee.getCode());
+        // 検索結果に表示する氏名を更新
+        AfterCommit.run(() -> reportSearchIndex.updateEmployeeName(employee.getCode(), employee.getName()));
 
         return ErrorKinds.SUCCESS; // 成功時の戻り値を追加
     }
 
+    // ログイン状態の世代 (認証キャッシュはノードごとに古い世代を保持しうるため、常にDBから取得する)
+    @Transactional(readOnly = true)
+    public Optional<Integer> findCredentialVersion(String code) {
+        return employeeRepository.findCredentialVersionByCode(code);
+    }
+
+    // ログイン状態の世代を進め、発行済みのログイン状態のCookieを無効にする (Cookieモードのログアウト時)
+    @Transactional
+    public void revokeSessions(String code) {
+        employeeRepository.incrementCredentialVersion(code);
+        // 認証キャッシュを無効化 (Cookieの世代の確認は findCredentialVersion でDBを参照するため、他のノードのキャッシュの影響は受けない)
+        userDetailCache.invalidate(code);
+    }
+
 }
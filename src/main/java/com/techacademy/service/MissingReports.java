@@ -0,0 +1,50 @@
+package com.techacademy.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.techacademy.dto.MissingReportCount;
+
+// 未提出者の確認画面の表示内容
+public class MissingReports {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final List<MissingReportCount> rows;
+    private final Map<LocalDate, Integer> dailyCounts;
+    private final boolean ready;
+
+    public MissingReports(LocalDate from, LocalDate to, List<MissingReportCount> rows,
+            Map<LocalDate, Integer> dailyCounts, boolean ready) {
+        this.from = from;
+        this.to = to;
+        this.rows = rows;
+        this.dailyCounts = dailyCounts;
+        this.ready = ready;
+    }
+
+    // 期間 (両端を含む)
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    // 未提出の日がある従業員 (社員番号順)
+    public List<MissingReportCount> getRows() {
+        return rows;
+    }
+
+    // 平日ごとの未提出者数 (日付順)
+    public Map<LocalDate, Integer> getDailyCounts() {
+        return dailyCounts;
+    }
+
+    // 起動時の索引の作成が完了しているか (作成中は値が不完全な場合がある)
+    public boolean isReady() {
+        return ready;
+    }
+}
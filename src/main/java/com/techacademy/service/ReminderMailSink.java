@@ -0,0 +1,57 @@
+package com.techacademy.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.techacademy.dto.EmployeeSummary;
+
+// 日報未提出のお知らせの送信先
+// メールサーバーへは送らず、ローカルのファイルへ1通1行 (送信日時・社員番号・氏名・件名、タブ区切り) で追記する
+@Component
+public class ReminderMailSink {
+
+    private final Path mailbox;
+    // 追記を1バッチずつ直列化する (ファイルの入出力中も仮想スレッドがキャリアスレッドを占有しないよう synchronized は使わない)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public ReminderMailSink(@Value("${app.reports.reminder.mailbox:mailbox/reminders.tsv}") String mailbox) {
+        this.mailbox = Path.of(mailbox);
+    }
+
+    // 1バッチ分をまとめて追記
+    public void send(LocalDate reportDate, List<EmployeeSummary> recipients) throws IOException {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            Path parent = mailbox.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            String sentAt = LocalDateTime.now().withNano(0).toString();
+            try (Writer writer = Files.newBufferedWriter(mailbox, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND)) {
+                for (EmployeeSummary recipient : recipients) {
+                    writer.write(sentAt + "\t" + recipient.getCode() + "\t" + recipient.getName() + "\t" + reportDate
+                            + " の日報が提出されていません\n");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
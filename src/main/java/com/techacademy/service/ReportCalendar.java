@@ -0,0 +1,79 @@
+package com.techacademy.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.techacademy.dto.ReportCalendarEntry;
+
+// 従業員の1か月分の日報カレンダー
+// 提出日は int のビット (1日目: ビット0 ～ 31日目: ビット30) で保持する
+public class ReportCalendar {
+
+    private final String employeeCode;
+    private final YearMonth month;
+    private final int days;
+    // 日ごとの日報 (添字: 日 - 1、日報がない日は null)
+    private final ReportCalendarEntry[] entries;
+
+    public ReportCalendar(String employeeCode, YearMonth month, List<ReportCalendarEntry> entries) {
+        this.employeeCode = employeeCode;
+        this.month = month;
+        this.entries = new ReportCalendarEntry[month.lengthOfMonth()];
+        int days = 0;
+        for (ReportCalendarEntry entry : entries) {
+            int index = entry.getReportDate().getDayOfMonth() - 1;
+            this.entries[index] = entry;
+            days |= 1 << index;
+        }
+        this.days = days;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    // 日報がある日のビット列
+    public int getDays() {
+        return days;
+    }
+
+    public boolean hasReport(int dayOfMonth) {
+        return (days & (1 << (dayOfMonth - 1))) != 0;
+    }
+
+    // 日報がある日数
+    public int getReportCount() {
+        return Integer.bitCount(days);
+    }
+
+    public ReportCalendarEntry getEntry(int dayOfMonth) {
+        return entries[dayOfMonth - 1];
+    }
+
+    // 表示用: 日曜始まりの週ごとの日付 (前月・翌月の部分は null)
+    public List<List<LocalDate>> getWeeks() {
+        List<List<LocalDate>> weeks = new ArrayList<>();
+        List<LocalDate> week = new ArrayList<>(Collections.nCopies(month.atDay(1).getDayOfWeek().getValue() % 7, null));
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            LocalDate date = month.atDay(day);
+            week.add(date);
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+                weeks.add(week);
+                week = new ArrayList<>();
+            }
+        }
+        if (!week.isEmpty()) {
+            week.addAll(Collections.nCopies(7 - week.size(), null));
+            weeks.add(week);
+        }
+        return weeks;
+    }
+}
@@ -0,0 +1,120 @@
+package com.techacademy.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techacademy.entity.Report;
+import com.techacademy.repository.ReportRepository;
+
+import jakarta.persistence.EntityManager;
+
+// 日報エクスポート (CSV / NDJSON)
+// 結果をリストに溜めず、DBのカーソルから1件ずつ出力ストリームへ書き出す
+@Service
+public class ReportExportService {
+
+    // 出力形式
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String CSV_HEADER = "id,employee_code,employee_name,report_date,title,content,created_at,updated_at";
+
+    private final ReportRepository reportRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReportExportService(ReportRepository reportRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.reportRepository = reportRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // 日報エクスポート
+    @Transactional(readOnly = true)
+    public void export(LocalDate fromDate, LocalDate toDate, String employeeCode, String format, OutputStream outputStream)
+            throws IOException {
+        try (Stream<Report> reports = reportRepository.streamForExport(fromDate, toDate, employeeCode)) {
+            if (FORMAT_NDJSON.equals(format)) {
+                writeNdjson(reports.iterator(), outputStream);
+            } else {
+                writeCsv(reports.iterator(), outputStream);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<Report> reports, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (reports.hasNext()) {
+            Report report = reports.next();
+            writer.write(String.valueOf(report.getId()));
+            writer.write(',');
+            writer.write(csv(report.getEmployee().getCode()));
+            writer.write(',');
+            writer.write(csv(report.getEmployee().getName()));
+            writer.write(',');
+            writer.write(String.valueOf(report.getReportDate()));
+            writer.write(',');
+            writer.write(csv(report.getTitle()));
+            writer.write(',');
+            writer.write(csv(report.getContent()));
+            writer.write(',');
+            writer.write(String.valueOf(report.getCreatedAt()));
+            writer.write(',');
+            writer.write(String.valueOf(report.getUpdatedAt()));
+            writer.write("\r\n");
+            // 書き出し済みの日報は永続化コンテキストから外し、メモリ使用量を一定に保つ
+            entityManager.detach(report);
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<Report> reports, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        // 1件ごとに改行で区切る (NDJSON)
+        generator.setRootValueSeparator(null);
+        while (reports.hasNext()) {
+            Report report = reports.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", report.getId());
+            generator.writeStringField("employeeCode", report.getEmployee().getCode());
+            generator.writeStringField("employeeName", report.getEmployee().getName());
+            generator.writeStringField("reportDate", String.valueOf(report.getReportDate()));
+            generator.writeStringField("title", report.getTitle());
+            generator.writeStringField("content", report.getContent());
+            generator.writeStringField("createdAt", String.valueOf(report.getCreatedAt()));
+            generator.writeStringField("updatedAt", String.valueOf(report.getUpdatedAt()));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            entityManager.detach(report);
+        }
+        generator.flush();
+    }
+
+    // CSVの項目をエスケープ (カンマ・改行・ダブルクォートを含む場合はクォートで囲む)
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,42 @@
+package com.techacademy.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 日報一括取込の結果
+public class ReportImportResult {
+
+    // 画面に表示するエラーの最大件数 (大量エラー時にメモリを使い過ぎないため)
+    public static final int MAX_ERRORS = 100;
+
+    private long importedCount;
+    private long errorCount;
+    private final List<String> errors = new ArrayList<>();
+
+    void addImported(int count) {
+        importedCount += count;
+    }
+
+    void addError(int lineNumber, String message) {
+        errorCount++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(lineNumber + "行目: " + message);
+        }
+    }
+
+    // 登録件数
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    // エラー件数
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    // エラー内容 (先頭 MAX_ERRORS 件まで)
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+}
@@ -0,0 +1,324 @@
+package com.techacademy.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techacademy.dto.EmployeeSummary;
+import com.techacademy.entity.Report;
+import com.techacademy.repository.EmployeeRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// 日報一括取込 (CSV / JSON Lines)
+// アップロードされたファイルを1行ずつ読み込み、一定件数ごとにJDBCのバッチINSERTで登録する
+// 重複チェックはバッチ単位 (ファイル全体のキーは保持しない。前のバッチはコミット済みのためDBの確認で検出される)
+@Service
+public class ReportImportService {
+
+    // 取込形式
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_JSONL = "jsonl";
+
+    // CSVのヘッダー行 (1列目がこの値の場合は読み飛ばす)
+    private static final String CSV_HEADER = "employee_code";
+
+    private static final String INSERT_SQL = "INSERT INTO reports (report_date, title, content, employee_code, delete_flg, version, created_at, updated_at)"
+            + " VALUES (:reportDate, :title, :content, :employeeCode, 0, 0, :createdAt, :updatedAt)";
+
+    private static final String[] KEY_COLUMNS = { "id" };
+
+    private static final String DUPLICATE_MESSAGE = "既に登録されている日付です";
+
+    private static final String EXISTING_SQL = "SELECT employee_code, report_date FROM reports"
+            + " WHERE delete_flg = 0 AND employee_code IN (:employeeCodes) AND report_date IN (:reportDates)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ReportSearchIndex reportSearchIndex;
+    private final ReportStatisticsStore reportStatisticsStore;
+    private final ReportSubmissionIndex reportSubmissionIndex;
+    private final int batchSize;
+
+    @Autowired
+    public ReportImportService(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            EmployeeRepository employeeRepository, Validator validator, ObjectMapper objectMapper,
+            ReportSearchIndex reportSearchIndex, ReportStatisticsStore reportStatisticsStore,
+            ReportSubmissionIndex reportSubmissionIndex, @Value("${app.report-import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.employeeRepository = employeeRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.reportSearchIndex = reportSearchIndex;
+        this.reportStatisticsStore = reportStatisticsStore;
+        this.reportSubmissionIndex = reportSubmissionIndex;
+        this.batchSize = batchSize;
+    }
+
+    // 日報一括取込
+    public ReportImportResult importReports(InputStream inputStream, String format) throws IOException {
+        ReportImportResult result = new ReportImportResult();
+
+        // 取込対象の社員番号 → 氏名 (有効な従業員のみ。検索用インデックスの登録にも使う)
+        Map<String, String> employeeNames = new HashMap<>();
+        for (EmployeeSummary employee : employeeRepository.findAllSummaries()) {
+            employeeNames.put(employee.getCode(), employee.getName());
+        }
+
+        Batch batch = new Batch(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        if (FORMAT_JSONL.equals(format)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportRow row = parseJson(line, lineNumber, result);
+                addRow(row, batch, employeeNames, result);
+            }
+        } else {
+            CsvReader csvReader = new CsvReader(reader);
+            List<String> fields;
+            while ((fields = csvReader.readRecord()) != null) {
+                int lineNumber = csvReader.getRecordLineNumber();
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                if (lineNumber == 1 && CSV_HEADER.equalsIgnoreCase(fields.get(0).trim())) {
+                    continue;
+                }
+                ImportRow row = parseCsv(fields, lineNumber, result);
+                addRow(row, batch, employeeNames, result);
+            }
+        }
+        flush(batch, employeeNames, result);
+
+        return result;
+    }
+
+    // CSV 1行を読み込む (列: 社員番号, 日付, タイトル, 内容)
+    private ImportRow parseCsv(List<String> fields, int lineNumber, ReportImportResult result) {
+        if (fields.size() != 4) {
+            result.addError(lineNumber, "列数が正しくありません");
+            return null;
+        }
+        return toRow(lineNumber, fields.get(0), fields.get(1), fields.get(2), fields.get(3), result);
+    }
+
+    // JSON Lines 1行を読み込む
+    private ImportRow parseJson(String line, int lineNumber, ReportImportResult result) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            return toRow(lineNumber, node.path("employeeCode").asText(null), node.path("reportDate").asText(null),
+                    node.path("title").asText(null), node.path("content").asText(null), result);
+        } catch (IOException e) {
+            result.addError(lineNumber, "JSONの形式が正しくありません");
+            return null;
+        }
+    }
+
+    private ImportRow toRow(int lineNumber, String employeeCode, String reportDate, String title, String content,
+            ReportImportResult result) {
+        Report report = new Report();
+        report.setTitle(title);
+        report.setContent(content);
+        try {
+            report.setReportDate(reportDate == null || reportDate.isBlank() ? null : LocalDate.parse(reportDate.trim()));
+        } catch (DateTimeParseException e) {
+            result.addError(lineNumber, "日付の形式が正しくありません");
+            return null;
+        }
+
+        // 日報画面と同じ入力チェック (Report の Bean Validation) を適用
+        Set<ConstraintViolation<Report>> violations = validator.validate(report);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<Report> violation = violations.iterator().next();
+            result.addError(lineNumber, violation.getPropertyPath() + ": " + violation.getMessage());
+            return null;
+        }
+        return new ImportRow(lineNumber, employeeCode == null ? null : employeeCode.trim(), report);
+    }
+
+    private void addRow(ImportRow row, Batch batch, Map<String, String> employeeNames, ReportImportResult result) {
+        if (row == null) {
+            return;
+        }
+        if (row.employeeCode == null || !employeeNames.containsKey(row.employeeCode)) {
+            result.addError(row.lineNumber, "社員番号が存在しません");
+            return;
+        }
+        if (!batch.keys.add(row.key())) {
+            result.addError(row.lineNumber, DUPLICATE_MESSAGE);
+            return;
+        }
+        batch.rows.add(row);
+        if (batch.rows.size() >= batchSize) {
+            flush(batch, employeeNames, result);
+        }
+    }
+
+    // 登録済みの日報と重複する行を除外し、残りをバッチINSERTで登録
+    // 確認の後に他の操作で同じ従業員・日付の日報が登録され一意制約に違反した場合は、1行ずつ登録し直して該当する行のみエラーとする
+    private void flush(Batch batch, Map<String, String> employeeNames, ReportImportResult result) {
+        if (batch.rows.isEmpty()) {
+            return;
+        }
+        Outcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> insert(batch.rows, employeeNames, false));
+        } catch (DuplicateKeyException e) {
+            outcome = transactionTemplate.execute(status -> insert(batch.rows, employeeNames, true));
+        }
+
+        for (int lineNumber : outcome.duplicateLines) {
+            result.addError(lineNumber, DUPLICATE_MESSAGE);
+        }
+        result.addImported(outcome.inserted);
+        batch.rows.clear();
+        batch.keys.clear();
+    }
+
+    // トランザクション内で呼び出すこと (eachRow が true の場合は1行ずつINSERTし、一意制約に違反した行をエラーとする)
+    private Outcome insert(List<ImportRow> batch, Map<String, String> employeeNames, boolean eachRow) {
+        Set<String> employeeCodes = new HashSet<>();
+        Set<LocalDate> reportDates = new HashSet<>();
+        for (ImportRow row : batch) {
+            employeeCodes.add(row.employeeCode);
+            reportDates.add(row.report.getReportDate());
+        }
+        Set<String> existingKeys = new HashSet<>();
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("employeeCodes", employeeCodes)
+                .addValue("reportDates", reportDates);
+        jdbcTemplate.query(EXISTING_SQL, params, (RowCallbackHandler) rs -> {
+            existingKeys.add(key(rs.getString(1), rs.getDate(2).toLocalDate()));
+        });
+
+        Outcome outcome = new Outcome();
+        LocalDateTime now = LocalDateTime.now();
+        List<MapSqlParameterSource> rows = new ArrayList<>(batch.size());
+        List<ImportRow> insertedRows = new ArrayList<>(batch.size());
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            if (existingKeys.contains(row.key())) {
+                outcome.duplicateLines.add(row.lineNumber);
+                continue;
+            }
+            MapSqlParameterSource values = new MapSqlParameterSource()
+                    .addValue("reportDate", Date.valueOf(row.report.getReportDate()))
+                    .addValue("title", row.report.getTitle()).addValue("content", row.report.getContent())
+                    .addValue("employeeCode", row.employeeCode).addValue("createdAt", Timestamp.valueOf(now))
+                    .addValue("updatedAt", Timestamp.valueOf(now));
+            if (eachRow) {
+                // 1行のINSERTの失敗はその文のみ取り消され、トランザクションは継続する
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                try {
+                    jdbcTemplate.update(INSERT_SQL, values, keyHolder, KEY_COLUMNS);
+                } catch (DuplicateKeyException e) {
+                    outcome.duplicateLines.add(row.lineNumber);
+                    continue;
+                }
+                ids.add(id(keyHolder.getKeyList().get(0)));
+            } else {
+                rows.add(values);
+            }
+            insertedRows.add(row);
+        }
+        if (!rows.isEmpty()) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows.toArray(new MapSqlParameterSource[0]), keyHolder, KEY_COLUMNS);
+            for (Map<String, Object> keys : keyHolder.getKeyList()) {
+                ids.add(id(keys));
+            }
+        }
+
+        // 登録した行のみ、提出状況の集計・未提出者の索引・検索用インデックスへ反映
+        AfterCommit.run(() -> {
+            for (int i = 0; i < insertedRows.size(); i++) {
+                ImportRow row = insertedRows.get(i);
+                LocalDate reportDate = row.report.getReportDate();
+                reportStatisticsStore.add(row.employeeCode, reportDate, now);
+                reportSubmissionIndex.add(row.employeeCode, reportDate);
+                reportSearchIndex.index(ids.get(i), row.employeeCode, employeeNames.get(row.employeeCode), reportDate,
+                        row.report.getTitle(), row.report.getContent());
+            }
+        });
+        outcome.inserted = insertedRows.size();
+        return outcome;
+    }
+
+    // 採番されたID (列名はドライバーにより異なるため、先頭の値を使う)
+    private static Long id(Map<String, Object> keys) {
+        return ((Number) keys.values().iterator().next()).longValue();
+    }
+
+    private static String key(String employeeCode, LocalDate reportDate) {
+        return employeeCode + "|" + reportDate;
+    }
+
+    // 登録待ちの行と、その「1従業員1日1件」チェック用のキー (バッチ単位で保持)
+    private static final class Batch {
+        private final List<ImportRow> rows;
+        private final Set<String> keys = new HashSet<>();
+
+        private Batch(int batchSize) {
+            this.rows = new ArrayList<>(batchSize);
+        }
+    }
+
+    // 1バッチの登録結果
+    private static final class Outcome {
+        private int inserted;
+        private final List<Integer> duplicateLines = new ArrayList<>();
+    }
+
+    // 取込対象の1行
+    private static final class ImportRow {
+        private final int lineNumber;
+        private final String employeeCode;
+        private final Report report;
+
+        private ImportRow(int lineNumber, String employeeCode, Report report) {
+            this.lineNumber = lineNumber;
+            this.employeeCode = employeeCode;
+            this.report = report;
+        }
+
+        private String key() {
+            return ReportImportService.key(employeeCode, report.getReportDate());
+        }
+    }
+}
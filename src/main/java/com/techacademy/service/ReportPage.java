@@ -0,0 +1,82 @@
+package com.techacademy.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.techacademy.dto.ReportSummary;
+
+// 日報一覧の1ページ分 (キーセット方式のページング結果)
+public class ReportPage {
+
+    // カーソル文字列の区切り文字 (例: 2025-04-01_123)
+    private static final String CURSOR_SEPARATOR = "_";
+
+    private final List<ReportSummary> reports;
+    private final long totalCount;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    public ReportPage(List<ReportSummary> reports, long totalCount, String nextCursor, String prevCursor) {
+        this.reports = reports;
+        this.totalCount = totalCount;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+
+    public List<ReportSummary> getReports() {
+        return reports;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    // 次ページ (より古い日報) のカーソル。最終ページの場合はnull
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    // 前ページ (より新しい日報) のカーソル。先頭ページの場合はnull
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    // 日付とIDからカーソル文字列を生成
+    public static String toCursor(LocalDate reportDate, Long id) {
+        return reportDate + CURSOR_SEPARATOR + id;
+    }
+
+    // カーソル文字列の日付部分を取得 (不正な値の場合はnull)
+    public static LocalDate cursorDate(String cursor) {
+        String[] parts = splitCursor(cursor);
+        if (parts == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(parts[0]);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // カーソル文字列のID部分を取得 (不正な値の場合はnull)
+    public static Long cursorId(String cursor) {
+        String[] parts = splitCursor(cursor);
+        if (parts == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(parts[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String[] splitCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = cursor.split(CURSOR_SEPARATOR, 2);
+        return parts.length == 2 ? parts : null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.techacademy.service;
+
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// reports テーブルを日付 (report_date) の月ごとにパーティション化し、先の月のパーティションを事前に作成する (MySQLのみ)
+// 直近の月を対象とする検索は該当するパーティションのみを読むため、過去の日報が増えても検索範囲は変わらない
+// パーティション: p年月 (その月の日報) と pmax (作成済みの月より後の日報)
+@Component
+public class ReportPartitionMaintainer {
+
+    static final String FUTURE_PARTITION = "pmax";
+
+    // 初回のパーティション化で月ごとに分ける最大の月数 (それより古い日報は最初のパーティションにまとめる)
+    private static final int MAX_INITIAL_MONTHS = 120;
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+
+    @Autowired
+    public ReportPartitionMaintainer(JdbcTemplate jdbcTemplate,
+            @Value("${app.reports.partitioning.enabled:false}") boolean enabled,
+            @Value("${app.reports.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+    }
+
+    // 起動時と毎日 (既定は3時) に、当月から months-ahead か月先までのパーティションがあることを確認する
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.reports.partitioning.cron:0 0 3 * * *}")
+    public void maintain() {
+        if (!enabled || !isMySql()) {
+            return;
+        }
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        List<String> partitions = jdbcTemplate.queryForList("SELECT PARTITION_NAME FROM information_schema.PARTITIONS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'reports' AND PARTITION_NAME IS NOT NULL"
+                + " ORDER BY PARTITION_ORDINAL_POSITION", String.class);
+
+        if (partitions.isEmpty()) {
+            partition(last);
+            return;
+        }
+        YearMonth created = lastMonth(partitions);
+        if (created != null && created.isBefore(last)) {
+            // 作成済みの月より後の日報は pmax に入っているため、pmax を月ごとに分割する
+            jdbcTemplate.execute("ALTER TABLE reports REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                    + definitions(created.plusMonths(1), last) + ")");
+        }
+    }
+
+    // 初回: 外部キー制約を削除し、主キーにパーティションの列を含め、登録済みの最も古い月からパーティション化する
+    private void partition(YearMonth last) {
+        // パーティション化したテーブルは外部キーを持てないため、reports → employees の外部キー制約を削除する
+        // (従業員は論理削除のみのため、参照先がなくなることはない)
+        List<String> foreignKeys = jdbcTemplate.queryForList("SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'reports' AND CONSTRAINT_TYPE = 'FOREIGN KEY'",
+                String.class);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE reports DROP FOREIGN KEY `" + foreignKey + "`");
+        }
+        Integer primaryKeyColumns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.KEY_COLUMN_USAGE"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'reports' AND CONSTRAINT_NAME = 'PRIMARY'",
+                Integer.class);
+        if (primaryKeyColumns != null && primaryKeyColumns == 1) {
+            // パーティション化したテーブルの一意キーにはパーティションの列が必要
+            jdbcTemplate.execute("ALTER TABLE reports DROP PRIMARY KEY, ADD PRIMARY KEY (id, report_date)");
+        }
+        LocalDate oldest = jdbcTemplate.queryForObject("SELECT MIN(report_date) FROM reports", LocalDate.class);
+        YearMonth first = oldest == null || YearMonth.from(oldest).isAfter(last) ? YearMonth.now()
+                : YearMonth.from(oldest);
+        if (first.isBefore(last.minusMonths(MAX_INITIAL_MONTHS))) {
+            first = last.minusMonths(MAX_INITIAL_MONTHS);
+        }
+        jdbcTemplate.execute("ALTER TABLE reports PARTITION BY RANGE COLUMNS(report_date) (" + definitions(first, last) + ")");
+    }
+
+    // first～last の各月のパーティションと pmax の定義
+    static String definitions(YearMonth first, YearMonth last) {
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.add("PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('"
+                    + month.plusMonths(1).atDay(1) + "')");
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        return String.join(", ", definitions);
+    }
+
+    // 作成済みの最も新しい月 (月のパーティションがない場合は null)
+    static YearMonth lastMonth(List<String> partitions) {
+        YearMonth last = null;
+        for (String partition : partitions) {
+            if (partition.matches("p\\d{6}")) {
+                YearMonth month = YearMonth.parse(partition.substring(1), DateTimeFormatter.ofPattern("yyyyMM"));
+                if (last == null || month.isAfter(last)) {
+                    last = month;
+                }
+            }
+        }
+        return last;
+    }
+
+    private boolean isMySql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
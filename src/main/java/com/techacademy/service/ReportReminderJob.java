@@ -0,0 +1,81 @@
+package com.techacademy.service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.techacademy.dto.EmployeeSummary;
+import com.techacademy.repository.EmployeeRepository;
+
+// 日報未提出者へのお知らせ
+// 未提出者は索引のビット演算で求め、氏名の取得と送信は batch-size 件ずつまとめて行う
+@Component
+public class ReportReminderJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportReminderJob.class);
+
+    private final ReportSubmissionIndex reportSubmissionIndex;
+    private final EmployeeRepository employeeRepository;
+    private final ReminderMailSink reminderMailSink;
+    private final boolean enabled;
+    private final int batchSize;
+
+    // 計測値 (宛先の件数)
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    @Autowired
+    public ReportReminderJob(ReportSubmissionIndex reportSubmissionIndex, EmployeeRepository employeeRepository,
+            ReminderMailSink reminderMailSink, @Value("${app.reports.reminder.enabled:false}") boolean enabled,
+            @Value("${app.reports.reminder.batch-size:100}") int batchSize) {
+        this.reportSubmissionIndex = reportSubmissionIndex;
+        this.employeeRepository = employeeRepository;
+        this.reminderMailSink = reminderMailSink;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // 定期実行 (既定は平日18時に当日分。起動時の索引の作成が終わっていない場合は送らない)
+    @Scheduled(cron = "${app.reports.reminder.cron:0 0 18 * * MON-FRI}")
+    public void remindToday() {
+        if (enabled && reportSubmissionIndex.isReady()) {
+            remind(LocalDate.now());
+        }
+    }
+
+    // 指定した日の未提出者へ送信し、送信した件数を返す
+    public int remind(LocalDate reportDate) {
+        List<String> missing = reportSubmissionIndex.missingOn(reportDate);
+        int sent = 0;
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            List<EmployeeSummary> recipients = employeeRepository
+                    .findSummariesByCodeIn(missing.subList(from, Math.min(from + batchSize, missing.size())));
+            try {
+                reminderMailSink.send(reportDate, recipients);
+                sent += recipients.size();
+                sentCount.add(recipients.size());
+            } catch (IOException e) {
+                // 送信できなかったバッチは記録して飛ばし、残りのバッチを送る
+                failedCount.add(recipients.size());
+                log.warn("日報未提出のお知らせを送信できませんでした (対象日: {}, {}件)", reportDate, recipients.size(), e);
+            }
+        }
+        return sent;
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+}
@@ -0,0 +1,106 @@
+package com.techacademy.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.techacademy.dto.ReportRevisionView;
+import com.techacademy.entity.Report;
+import com.techacademy.entity.ReportRevision;
+import com.techacademy.repository.ReportRevisionRepository;
+
+// 日報の更新履歴
+// 版ごとにタイトル・内容の直前の版との差分を保存し、snapshot-interval 版ごとに全文を保存する
+// (任意の版の復元に読み込む行数は snapshot-interval 件以内に収まる)
+@Service
+public class ReportRevisionService {
+
+    private final ReportRevisionRepository reportRevisionRepository;
+    private final int snapshotInterval;
+
+    @Autowired
+    public ReportRevisionService(ReportRevisionRepository reportRevisionRepository,
+            @Value("${app.report-revision.snapshot-interval:10}") int snapshotInterval) {
+        this.reportRevisionRepository = reportRevisionRepository;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    // 更新前の日報の内容を控える (更新後に recordUpdate へ渡す)
+    public ReportRevision capture(Report report) {
+        ReportRevision revision = new ReportRevision();
+        revision.setReportId(report.getId());
+        revision.setRevision(report.getVersion());
+        revision.setSnapshot(true);
+        revision.setReportDate(report.getReportDate());
+        revision.setTitle(report.getTitle());
+        revision.setContent(report.getContent());
+        revision.setUpdatedAt(report.getUpdatedAt());
+        return revision;
+    }
+
+    // 更新後の版を保存 (日報の更新と同じトランザクションで呼び出す)
+    // 更新前の版が保存されていない場合 (初回の更新など) は、差分の基準とするため更新前の版を全文で保存する
+    @Transactional
+    public void recordUpdate(ReportRevision previous, Report updated) {
+        if (!reportRevisionRepository.existsByReportIdAndRevision(previous.getReportId(), previous.getRevision())) {
+            reportRevisionRepository.save(previous);
+        }
+        ReportRevision current = capture(updated);
+        if (current.getRevision() % snapshotInterval != 0) {
+            current.setSnapshot(false);
+            current.setTitle(RevisionDelta.diff(previous.getTitle(), updated.getTitle()));
+            current.setContent(RevisionDelta.diff(previous.getContent(), updated.getContent()));
+        }
+        reportRevisionRepository.save(current);
+    }
+
+    // 全履歴 (新しい順)。古い順に差分を適用して復元する
+    @Transactional(readOnly = true)
+    public List<ReportRevisionView> findHistory(Long reportId) {
+        List<ReportRevisionView> history = replay(reportRevisionRepository.findByReportIdOrderByRevision(reportId));
+        Collections.reverse(history);
+        return history;
+    }
+
+    // 指定した版 (直前のスナップショットから差分を適用して復元する)
+    @Transactional(readOnly = true)
+    public Optional<ReportRevisionView> findRevision(Long reportId, int revision) {
+        Optional<Integer> snapshot = reportRevisionRepository.findSnapshotRevision(reportId, revision);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        List<ReportRevisionView> views = replay(reportRevisionRepository
+                .findByReportIdAndRevisionBetweenOrderByRevision(reportId, snapshot.get(), revision));
+        if (views.isEmpty() || views.get(views.size() - 1).getRevision() != revision) {
+            return Optional.empty();
+        }
+        return Optional.of(views.get(views.size() - 1));
+    }
+
+    // 古い順の履歴を全文に復元 (先頭はスナップショットであること)
+    private static List<ReportRevisionView> replay(List<ReportRevision> revisions) {
+        List<ReportRevisionView> views = new ArrayList<>(revisions.size());
+        String title = null;
+        String content = null;
+        for (ReportRevision revision : revisions) {
+            if (revision.isSnapshot()) {
+                title = revision.getTitle();
+                content = revision.getContent();
+            } else if (title == null) {
+                continue; // 基準となる版がない差分は復元できない
+            } else {
+                title = RevisionDelta.apply(title, revision.getTitle());
+                content = RevisionDelta.apply(content, revision.getContent());
+            }
+            views.add(new ReportRevisionView(revision.getRevision(), revision.getReportDate(), title, content,
+                    revision.getUpdatedAt()));
+        }
+        return views;
+    }
+}
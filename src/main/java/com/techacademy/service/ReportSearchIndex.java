@@ -0,0 +1,661 @@
+package com.techacademy.service;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techacademy.dto.ReportSummary;
+import com.techacademy.entity.Report;
+import com.techacademy.repository.ReportRepository;
+
+import jakarta.persistence.EntityManager;
+
+// 日報のタイトル・内容を対象とした全文検索用の転置インデックス (メモリ上に保持)
+// 日本語は単語の区切りがないため、文字の2-gramで索引を作成する
+// 日報には登録順の文書番号を割り当て、2-gramごとの転置リストは「文書番号・出現回数」を詰めた int の昇順の配列で持つ
+// (更新・削除は文書番号を無効にし、新しい文書番号で追加する。無効な文書番号が増えたら詰め直す)
+@Component
+public class ReportSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSearchIndex.class);
+
+    // 検索結果の1ページあたりの件数
+    public static final int PAGE_SIZE = 20;
+
+    // タイトルに含まれる語の重み (内容より優先して上位に表示する)
+    private static final int TITLE_WEIGHT = 3;
+
+    // 起動時の索引作成で永続化コンテキストをクリアする間隔
+    private static final int BUILD_CLEAR_INTERVAL = 1000;
+
+    private final ReportRepository reportRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private Index index = new Index();
+    // 再作成中に発生した更新 (再作成結果へ適用してから切り替える。null の場合は再作成中ではない)
+    private List<Consumer<Index>> pendingUpdates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Autowired
+    public ReportSearchIndex(ReportRepository reportRepository, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, @Value("${app.search.enabled:true}") boolean enabled) {
+        this.reportRepository = reportRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    // 起動完了後にバックグラウンドで索引を作成
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAsync();
+    }
+
+    // 索引をバックグラウンドで再作成
+    public void rebuildAsync() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("report-search-index").daemon(true).start(this::rebuild);
+    }
+
+    // 索引を再作成 (別の索引に作成してから切り替えるため、作成中も現在の索引で検索できる。作成中の場合は何もしない)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                return; // 再作成中
+            }
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        boolean completed = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Report> stream = reportRepository.streamForExport(null, null, null)) {
+                    int count = 0;
+                    Iterator<Report> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        Report report = iterator.next();
+                        Document document = document(report.getTitle(), report.getContent());
+                        rebuilt.put(report.getId(), report.getEmployee().getCode(), report.getEmployee().getName(),
+                                report.getReportDate(), report.getTitle(), document);
+                        if (++count % BUILD_CLEAR_INTERVAL == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+            });
+            rebuilt.trim();
+            completed = true;
+        } catch (RuntimeException e) {
+            log.error("日報の検索用インデックスの作成に失敗しました", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // 失敗した場合は途中までの結果を捨て、差分反映済みの索引をそのまま使う
+                if (completed) {
+                    for (Consumer<Index> update : pendingUpdates) {
+                        update.accept(rebuilt);
+                    }
+                    index = rebuilt;
+                    ready = true;
+                }
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // 日報を索引に追加・更新
+    public void index(Report report) {
+        // 従業員が未読み込みのプロキシの場合は氏名を読み込まない (登録済みの氏名を使う)
+        String employeeName = Hibernate.isInitialized(report.getEmployee()) ? report.getEmployee().getName() : null;
+        index(report.getId(), report.getEmployee().getCode(), employeeName, report.getReportDate(), report.getTitle(),
+                report.getContent());
+    }
+
+    // 日報を索引に追加・更新 (JDBCで直接登録した日報用。employeeName が null の場合は登録済みの氏名を使う)
+    public void index(Long id, String employeeCode, String employeeName, LocalDate reportDate, String title,
+            String content) {
+        if (!enabled) {
+            return;
+        }
+        // 2-gramへの分割はロックの外で行う
+        Document document = document(title, content);
+        apply(index -> index.put(id, employeeCode, employeeName, reportDate, title, document));
+    }
+
+    // 日報を索引から削除
+    public void delete(Long id) {
+        apply(index -> index.remove(id));
+    }
+
+    // 従業員の日報をすべて索引から削除
+    public void deleteByEmployeeCode(String employeeCode) {
+        apply(index -> index.removeEmployee(employeeCode));
+    }
+
+    // 氏名の変更を反映
+    public void updateEmployeeName(String employeeCode, String employeeName) {
+        apply(index -> index.rename(employeeCode, employeeName));
+    }
+
+    private void apply(Consumer<Index> update) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            update.accept(index);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 検索 (employeeCode が null の場合は全従業員の日報が対象)
+    // 検索語のすべての2-gramを含む日報を、出現頻度と希少度によるスコアの高い順に返す
+    public ReportSearchResult search(String query, String employeeCode, int page) {
+        List<String> queryGrams = new ArrayList<>(new LinkedHashSet<>(grams(query)));
+        int pageIndex = Math.max(page, 0);
+        if (queryGrams.isEmpty()) {
+            return new ReportSearchResult(List.of(), 0, pageIndex, false, ready);
+        }
+        int[] keys = new int[queryGrams.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(queryGrams.get(i));
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(keys, employeeCode, pageIndex, ready);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 索引済みの件数
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 文字列を2-gramに分割 (NFKC正規化・小文字化し、記号・空白で区切る。1文字の語はそのまま)
+    static List<String> grams(String text) {
+        List<String> grams = new ArrayList<>();
+        if (text == null) {
+            return grams;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (i - start == 1) {
+                    grams.add(normalized.substring(start, i));
+                } else {
+                    for (int j = start; j + 2 <= i; j++) {
+                        grams.add(normalized.substring(j, j + 2));
+                    }
+                }
+                start = -1;
+            }
+        }
+        return grams;
+    }
+
+    // 2-gramのキー (2文字を上位・下位16ビットに詰める。1文字の語は下位16ビットのみ)
+    static int key(String gram) {
+        return gram.length() == 1 ? gram.charAt(0) : gram.charAt(0) << 16 | gram.charAt(1);
+    }
+
+    // 日報1件分の2-gramのキーと重み付きの出現回数
+    private static Document document(String title, String content) {
+        Map<Integer, Integer> frequencies = new LinkedHashMap<>();
+        for (String gram : grams(title)) {
+            frequencies.merge(key(gram), TITLE_WEIGHT, Integer::sum);
+        }
+        for (String gram : grams(content)) {
+            frequencies.merge(key(gram), 1, Integer::sum);
+        }
+        int[] keys = new int[frequencies.size()];
+        int[] counts = new int[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : frequencies.entrySet()) {
+            keys[i] = entry.getKey();
+            counts[i++] = entry.getValue();
+        }
+        return new Document(keys, counts);
+    }
+
+    private record Document(int[] keys, int[] counts) {
+    }
+
+    // 索引の本体 (ReportSearchIndex のロックの内側、または再作成中の1スレッドからのみ操作する)
+    static final class Index {
+
+        // 転置リストの1要素: 上位24ビットが文書番号、下位8ビットが出現回数 (255で打ち切り)
+        private static final int FREQUENCY_BITS = 8;
+        private static final int MAX_FREQUENCY = (1 << FREQUENCY_BITS) - 1;
+        static final int MAX_ORDINALS = 1 << (Integer.SIZE - FREQUENCY_BITS);
+
+        // 無効な文書番号がこの件数以上、かつ全体の1/4以上になったら詰め直す
+        private static final int COMPACT_MIN_DELETED = 1024;
+
+        // 2-gramのキー → 転置リスト
+        private final Map<Integer, PostingList> postings = new HashMap<>();
+
+        // 文書番号 → 日報のID・従業員の番号・日付 (エポック日)・タイトル
+        private long[] ids = new long[16];
+        private int[] employees = new int[16];
+        private int[] dates = new int[16];
+        private String[] titles = new String[16];
+        // 採番済みの文書番号の数
+        private int ordinals;
+        // 更新・削除で無効になった文書番号
+        private final BitSet deleted = new BitSet();
+        private int deletedCount;
+        // 日報のID → 有効な文書番号
+        private final LongIntMap ordinalsById = new LongIntMap();
+
+        // 従業員の番号 → 社員番号・氏名
+        private final Map<String, Integer> employeeOrdinals = new HashMap<>();
+        private final List<String> employeeCodes = new ArrayList<>();
+        private final List<String> employeeNames = new ArrayList<>();
+
+        void put(long id, String employeeCode, String employeeName, LocalDate reportDate, String title,
+                Document document) {
+            remove(id);
+            if (ordinals == MAX_ORDINALS) {
+                compact();
+                if (ordinals == MAX_ORDINALS) {
+                    throw new IllegalStateException("検索用インデックスの件数の上限を超えました");
+                }
+            }
+            int ordinal = ordinals++;
+            if (ordinal == ids.length) {
+                int capacity = (int) Math.min((long) ids.length * 2, MAX_ORDINALS);
+                ids = Arrays.copyOf(ids, capacity);
+                employees = Arrays.copyOf(employees, capacity);
+                dates = Arrays.copyOf(dates, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+            }
+            ids[ordinal] = id;
+            employees[ordinal] = employee(employeeCode, employeeName);
+            dates[ordinal] = (int) reportDate.toEpochDay();
+            titles[ordinal] = title;
+            ordinalsById.put(id, ordinal);
+
+            for (int i = 0; i < document.keys().length; i++) {
+                postings.computeIfAbsent(document.keys()[i], key -> new PostingList())
+                        .add(ordinal << FREQUENCY_BITS | Math.min(document.counts()[i], MAX_FREQUENCY));
+            }
+        }
+
+        void remove(long id) {
+            int ordinal = ordinalsById.remove(id);
+            if (ordinal >= 0) {
+                delete(ordinal);
+                compactIfSparse();
+            }
+        }
+
+        void removeEmployee(String employeeCode) {
+            Integer employee = employeeOrdinals.get(employeeCode);
+            if (employee == null) {
+                return;
+            }
+            for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+                if (employees[ordinal] == employee && !deleted.get(ordinal)) {
+                    ordinalsById.remove(ids[ordinal]);
+                    delete(ordinal);
+                }
+            }
+            compactIfSparse();
+        }
+
+        void rename(String employeeCode, String employeeName) {
+            Integer employee = employeeOrdinals.get(employeeCode);
+            if (employee != null) {
+                employeeNames.set(employee, employeeName);
+            }
+        }
+
+        int size() {
+            return ordinals - deletedCount;
+        }
+
+        // 転置リストの余分な領域を解放 (再作成の完了時)
+        void trim() {
+            for (PostingList list : postings.values()) {
+                list.trim();
+            }
+        }
+
+        private int employee(String employeeCode, String employeeName) {
+            Integer employee = employeeOrdinals.get(employeeCode);
+            if (employee == null) {
+                employee = employeeCodes.size();
+                employeeOrdinals.put(employeeCode, employee);
+                employeeCodes.add(employeeCode);
+                employeeNames.add(employeeName);
+            } else if (employeeName != null) {
+                employeeNames.set(employee, employeeName);
+            }
+            return employee;
+        }
+
+        private void delete(int ordinal) {
+            deleted.set(ordinal);
+            deletedCount++;
+            titles[ordinal] = null;
+        }
+
+        private void compactIfSparse() {
+            if (deletedCount >= COMPACT_MIN_DELETED && deletedCount >= ordinals / 4) {
+                compact();
+            }
+        }
+
+        // 無効な文書番号を除いて詰め直す (順序は変わらないため、転置リストは昇順のまま)
+        void compact() {
+            int[] remap = new int[ordinals];
+            int live = 0;
+            for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+                if (deleted.get(ordinal)) {
+                    remap[ordinal] = -1;
+                    continue;
+                }
+                remap[ordinal] = live;
+                ids[live] = ids[ordinal];
+                employees[live] = employees[ordinal];
+                dates[live] = dates[ordinal];
+                titles[live] = titles[ordinal];
+                ordinalsById.put(ids[live], live);
+                live++;
+            }
+            Arrays.fill(titles, live, ordinals, null);
+            Iterator<PostingList> lists = postings.values().iterator();
+            while (lists.hasNext()) {
+                PostingList list = lists.next();
+                list.remap(remap);
+                if (list.size == 0) {
+                    lists.remove();
+                }
+            }
+            ordinals = live;
+            deleted.clear();
+            deletedCount = 0;
+        }
+
+        ReportSearchResult search(int[] keys, String employeeCode, int pageIndex, boolean ready) {
+            PostingList[] lists = new PostingList[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                lists[i] = postings.get(keys[i]);
+                if (lists[i] == null) {
+                    return new ReportSearchResult(List.of(), 0, pageIndex, false, ready);
+                }
+            }
+            int employee = -1;
+            if (employeeCode != null) {
+                Integer ordinal = employeeOrdinals.get(employeeCode);
+                if (ordinal == null) {
+                    return new ReportSearchResult(List.of(), 0, pageIndex, false, ready);
+                }
+                employee = ordinal;
+            }
+            // 件数の少ない転置リストから照合する
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1.0 + (double) size() / lists[i].size);
+            }
+
+            // 表示するページまでの上位 limit 件のみをヒープで保持する (全件の並べ替えはしない)
+            int limit = (pageIndex + 1) * PAGE_SIZE;
+            Comparator<Hit> order = Comparator.comparingDouble((Hit hit) -> hit.score)
+                    .thenComparingInt(hit -> dates[hit.ordinal]).thenComparingLong(hit -> ids[hit.ordinal]);
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, order);
+            int totalCount = 0;
+
+            int[] positions = new int[lists.length];
+            PostingList first = lists[0];
+            candidates: for (int p = 0; p < first.size; p++) {
+                int entry = first.entries[p];
+                int ordinal = entry >>> FREQUENCY_BITS;
+                if (deleted.get(ordinal) || (employee >= 0 && employees[ordinal] != employee)) {
+                    continue;
+                }
+                double score = (entry & MAX_FREQUENCY) * idf[0];
+                for (int i = 1; i < lists.length; i++) {
+                    int position = lists[i].seek(ordinal, positions[i]);
+                    positions[i] = position;
+                    if (position == lists[i].size) {
+                        break candidates; // 残りの候補はこの転置リストに含まれない
+                    }
+                    int other = lists[i].entries[position];
+                    if (other >>> FREQUENCY_BITS != ordinal) {
+                        continue candidates;
+                    }
+                    score += (other & MAX_FREQUENCY) * idf[i];
+                }
+                totalCount++;
+                if (top.size() < limit) {
+                    top.add(new Hit(ordinal, score));
+                } else if (score >= top.peek().score) {
+                    Hit hit = new Hit(ordinal, score);
+                    if (order.compare(hit, top.peek()) > 0) {
+                        top.poll();
+                        top.add(hit);
+                    }
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(order.reversed());
+            int from = Math.min(pageIndex * PAGE_SIZE, hits.size());
+            List<ReportSummary> results = new ArrayList<>(hits.size() - from);
+            for (Hit hit : hits.subList(from, hits.size())) {
+                int ordinal = hit.ordinal;
+                int owner = employees[ordinal];
+                results.add(new ReportSummary(ids[ordinal], LocalDate.ofEpochDay(dates[ordinal]), titles[ordinal],
+                        employeeCodes.get(owner), employeeNames.get(owner)));
+            }
+            return new ReportSearchResult(results, totalCount, pageIndex, limit < totalCount, ready);
+        }
+    }
+
+    // 2-gram1つ分の転置リスト (文書番号の昇順)
+    private static final class PostingList {
+        private int[] entries = new int[4];
+        private int size;
+
+        // 文書番号は追加のたびに増えるため、末尾に追加すれば昇順を保つ
+        void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size + (size >> 1) + 1);
+            }
+            entries[size++] = entry;
+        }
+
+        void trim() {
+            if (entries.length > size) {
+                entries = Arrays.copyOf(entries, size);
+            }
+        }
+
+        void remap(int[] remap) {
+            int written = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[entries[i] >>> Index.FREQUENCY_BITS];
+                if (ordinal >= 0) {
+                    entries[written++] = ordinal << Index.FREQUENCY_BITS | entries[i] & Index.MAX_FREQUENCY;
+                }
+            }
+            size = written;
+        }
+
+        // from 以降で文書番号が ordinal 以上の最初の位置 (なければ size)。間隔を倍にしながら探してから二分探索する
+        int seek(int ordinal, int from) {
+            if (from >= size || entries[from] >>> Index.FREQUENCY_BITS >= ordinal) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            while (low + step < size && entries[low + step] >>> Index.FREQUENCY_BITS < ordinal) {
+                low += step;
+                step <<= 1;
+            }
+            // entries[low] < ordinal、entries[high] >= ordinal (high == size の場合を含む)
+            int high = Math.min(low + step, size);
+            while (high - low > 1) {
+                int middle = (low + high) >>> 1;
+                if (entries[middle] >>> Index.FREQUENCY_BITS < ordinal) {
+                    low = middle;
+                } else {
+                    high = middle;
+                }
+            }
+            return high;
+        }
+    }
+
+    private static final class Hit {
+        private final int ordinal;
+        private final double score;
+
+        private Hit(int ordinal, double score) {
+            this.ordinal = ordinal;
+            this.score = score;
+        }
+    }
+
+    // long → int のハッシュ表 (オープンアドレス法。日報のIDごとにオブジェクトを作らないため)
+    static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private int size;
+
+        LongIntMap() {
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+            int slot = slot(key);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        int get(long key) {
+            int slot = slot(key);
+            return keys[slot] == EMPTY ? -1 : values[slot];
+        }
+
+        // 削除した値 (なければ -1)
+        int remove(long key) {
+            int slot = slot(key);
+            if (keys[slot] == EMPTY) {
+                return -1;
+            }
+            int value = values[slot];
+            // 後続の要素を前へ詰め、探索の連続性を保つ
+            int mask = keys.length - 1;
+            int gap = slot;
+            for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
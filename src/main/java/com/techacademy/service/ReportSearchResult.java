@@ -0,0 +1,51 @@
+package com.techacademy.service;
+
+import java.util.List;
+
+import com.techacademy.dto.ReportSummary;
+
+// 日報検索の結果 (1ページ分)
+public class ReportSearchResult {
+
+    private final List<ReportSummary> reports;
+    private final int totalCount;
+    private final int page;
+    private final boolean hasNext;
+    private final boolean indexReady;
+
+    public ReportSearchResult(List<ReportSummary> reports, int totalCount, int page, boolean hasNext, boolean indexReady) {
+        this.reports = reports;
+        this.totalCount = totalCount;
+        this.page = page;
+        this.hasNext = hasNext;
+        this.indexReady = indexReady;
+    }
+
+    // スコアの高い順の検索結果
+    public List<ReportSummary> getReports() {
+        return reports;
+    }
+
+    // ヒット件数
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    // ページ番号 (0始まり)
+    public int getPage() {
+        return page;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public boolean isHasPrev() {
+        return page > 0;
+    }
+
+    // 起動時の索引作成が完了しているか (作成中は結果が不完全な場合がある)
+    public boolean isIndexReady() {
+        return indexReady;
+    }
+}
@@ -1,92 +1,231 @@
 package com.techacademy.service;
 
+import com.techacademy.dto.AuditEvent.Action;
+import com.techacademy.dto.AuditEvent.Target;
+import com.techacademy.dto.ReportDetail;
+import com.techacademy.dto.ReportSummary;
 import com.techacademy.entity.Employee;
 import com.techacademy.entity.Employee.Role;
 import com.techacademy.entity.Report;
+import com.techacademy.entity.ReportRevision;
 import com.techacademy.repository.EmployeeRepository;
 import com.techacademy.repository.ReportRepository;
 
+import io.micrometer.core.annotation.Timed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
+// 公開メソッドごとの処理時間を計測 (タグ class・method で区別)
+@Timed(value = "app.report.service", percentiles = { 0.5, 0.95, 0.99 })
 @Service
 public class ReportService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    // 日報一覧の1ページあたりの表示件数
+    public static final int PAGE_SIZE = 20;
+
+    // 従業員削除時の日報一括論理削除で、1回のUPDATEで更新する最大件数
+    public static final int BULK_DELETE_CHUNK_SIZE = 5000;
+
+    // 一括論理削除のチャンクの最大試行回数 (ロック待ちのタイムアウト・デッドロック等の一時的な失敗のみ再試行する)
+    static final int BULK_DELETE_MAX_ATTEMPTS = 3;
+
+    // 過去の月も含めて検索する場合の日付の下限 (MySQLのDATE型の最小値)
+    public static final LocalDate ALL_DATES_FROM = LocalDate.of(1000, 1, 1);
+
     private final ReportRepository reportRepository;
     private final EmployeeRepository employeeRepository;
+    private final ReportSearchIndex reportSearchIndex;
+    private final ReportStatisticsStore reportStatisticsStore;
+    private final ReportSubmissionIndex reportSubmissionIndex;
+    private final AuditLog auditLog;
+    private final ReportRevisionService reportRevisionService;
+    // 日報一括論理削除の1チャンク分のトランザクション (チャンクごとにコミットする)
+    private final TransactionTemplate chunkTransaction;
+    // 一覧で既定で表示する直近の月数 (当月を含む。0以下は全期間)
+    private final int hotMonths;
 
 
     @Autowired
-    public ReportService(ReportRepository reportRepository, EmployeeRepository employeeRepository) {
+    public ReportService(ReportRepository reportRepository, EmployeeRepository employeeRepository,
+            ReportSearchIndex reportSearchIndex, ReportStatisticsStore reportStatisticsStore,
+            ReportSubmissionIndex reportSubmissionIndex, AuditLog auditLog, ReportRevisionService reportRevisionService,
+            PlatformTransactionManager transactionManager, @Value("${app.reports.hot-months:3}") int hotMonths) {
         this.reportRepository = reportRepository;
         this.employeeRepository = employeeRepository;
+        this.reportSearchIndex = reportSearchIndex;
+        this.reportStatisticsStore = reportStatisticsStore;
+        this.reportSubmissionIndex = reportSubmissionIndex;
+        this.auditLog = auditLog;
+        this.reportRevisionService = reportRevisionService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hotMonths = hotMonths;
+    }
+
+    // 一覧で既定で表示する期間の開始日 (直近 hot-months か月の初日)
+    public LocalDate hotWindowStart() {
+        return hotMonths > 0 ? YearMonth.now().minusMonths(hotMonths - 1L).atDay(1) : ALL_DATES_FROM;
+    }
+
+    private LocalDate since(boolean includeArchived) {
+        return includeArchived ? ALL_DATES_FROM : hotWindowStart();
     }
 
  // **従業員情報をもとに日報を取得**
+    @Transactional(readOnly = true)
     public List<Report> findByEmployee(Employee employee) {
         return reportRepository.findByEmployee(employee);
     }
 
 
+    @Transactional(readOnly = true)
     public Employee findEmployeeByCode(String employeeCode) {
         return employeeRepository.findByCode(employeeCode); // 修正: EmployeeRepository を利用
     }
 
 
+    // 直近の月の日報のみ (includeArchived が true の場合は全期間)
+    @Transactional(readOnly = true)
     public List<Report> findByEmployeeCode(String employeeCode) {
-        return reportRepository.findByEmployeeCode(employeeCode);
+        return findByEmployeeCode(employeeCode, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Report> findByEmployeeCode(String employeeCode, boolean includeArchived) {
+        return reportRepository.findByEmployeeCodeAndReportDateGreaterThanEqual(employeeCode, since(includeArchived));
     }
 
 
     public void save(Report report) {
-        reportRepository.save(report); // JPA の save メソッドを呼び出す
+        Action action = report.getId() == null ? Action.CREATE : Action.UPDATE;
+        Report saved = reportRepository.save(report); // JPA の save メソッドを呼び出す
+        auditLog.record(action, Target.REPORT, saved.getId(), saved.getEmployee().getCode()); // 監査ログ
+        AfterCommit.run(() -> {
+            reportSearchIndex.index(saved); // 検索用インデックスへ反映
+            addStatistics(saved); // 提出状況の集計・未提出者の索引へ反映
+        });
     }
 
 
-    // 日報一覧取得
+    // 日報一覧取得 (直近の月の日報のみ。includeArchived が true の場合は全期間)
+    @Transactional(readOnly = true)
     public List<Report> findAll() {
-        return reportRepository.findAll();
+        return findAll(false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Report> findAll(boolean includeArchived) {
+        return reportRepository.findByReportDateGreaterThanEqual(since(includeArchived));
     }
 
 
     // 日報詳細取得
+    @Transactional(readOnly = true)
     public Optional<Report> findById(Long id) {
         return reportRepository.findById(id);
     }
 
+    // 日報詳細取得 (詳細・更新画面用に従業員情報も結合して取得)
+    @Transactional(readOnly = true)
+    public Optional<Report> findDetailById(Long id) {
+        return reportRepository.findDetailById(id);
+    }
+
+    // 日報詳細の最終更新日時 (日報・従業員のうち新しい方。条件付きGET用)
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findLastModifiedById(Long id) {
+        return reportRepository.findLastModifiedById(id);
+    }
+
+    // ** ユーザー権限に応じた日報詳細の最終更新日時 (API用。一般ユーザーは自身の日報のみ、他の従業員の日報は空)**
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findLastModifiedByUserRole(String employeeCode, Long id) {
+        Employee employee = findEmployeeByCode(employeeCode);
+        return reportRepository.findLastModifiedById(id, employee.getRole() == Role.ADMIN ? null : employeeCode);
+    }
+
     // 日報新規登録
     public Report createReport(Report report) {
-        return reportRepository.save(report);
+        Report saved = reportRepository.save(report);
+        auditLog.record(Action.CREATE, Target.REPORT, saved.getId(), saved.getEmployee().getCode());
+        AfterCommit.run(() -> {
+            reportSearchIndex.index(saved);
+            addStatistics(saved);
+        });
+        return saved;
     }
 
+    private void addStatistics(Report report) {
+        if (!report.isDeleteFlg()) {
+            reportStatisticsStore.add(report.getEmployee().getCode(), report.getReportDate(), report.getCreatedAt());
+            reportSubmissionIndex.add(report.getEmployee().getCode(), report.getReportDate());
+        }
+    }
+
+    @Transactional(readOnly = true)
     public boolean existsByEmployeeAndDateWithoutExclusion(String employeeCode, LocalDate reportDate) {
         return reportRepository.existsByEmployee_CodeAndReportDate(employeeCode, reportDate);
     }
 
 
     // 既存データ確認
+    @Transactional(readOnly = true)
     public boolean existsByEmployeeAndDateExcludeCurrent(String employeeCode, LocalDate reportDate, Long currentId) {
         return reportRepository.existsByEmployee_CodeAndReportDateExcludeCurrent(employeeCode, reportDate, currentId);
     }
 
     // **日報更新**
-    public Report updateReport(Long id, Report updatedReport) {
+    // 日付の重複はDBの一意制約で検出する (重複時は DataIntegrityViolationException)
+    // 画面表示時のバージョンと異なる場合 (他のユーザーが先に更新済み) は ObjectOptimisticLockingFailureException
+    // 取得1回・変更列のみのバージョン付きUPDATE 1回で更新し、更新履歴へ差分を保存する
+    @Transactional
+    public Optional<Report> updateReport(Long id, Report updatedReport) {
         return reportRepository.findById(id)
                 .map(report -> {
-                    if (existsByEmployeeAndDateExcludeCurrent(updatedReport.getEmployee().getCode(), updatedReport.getReportDate(), id)) {
-                        throw new RuntimeException("既に登録されている日付です");
+                    if (!Objects.equals(report.getVersion(), updatedReport.getVersion())) {
+                        throw new ObjectOptimisticLockingFailureException(Report.class, id);
                     }
+                    LocalDate oldDate = report.getReportDate();
+                    ReportRevision previous = reportRevisionService.capture(report);
                     report.setTitle(updatedReport.getTitle());
                     report.setContent(updatedReport.getContent());
                     report.setReportDate(updatedReport.getReportDate());
-                    return reportRepository.save(report);
-                })
-                .orElseThrow(() -> new RuntimeException("Report not found"));
+                    report.setUpdatedAt(LocalDateTime.now());
+                    Report saved = reportRepository.saveAndFlush(report);
+                    reportRevisionService.recordUpdate(previous, saved);
+                    auditLog.record(Action.UPDATE, Target.REPORT, id, saved.getEmployee().getCode());
+                    AfterCommit.run(() -> {
+                        reportSearchIndex.index(saved);
+                        reportStatisticsStore.move(saved.getEmployee().getCode(), oldDate, saved.getReportDate(),
+                                saved.getCreatedAt());
+                        reportSubmissionIndex.move(saved.getEmployee().getCode(), oldDate, saved.getReportDate());
+                    });
+                    return saved;
+                });
     }
 
 
@@ -96,20 +235,161 @@ public class ReportService {
             report.setDeleteFlg(true); // **論理削除を適用**
             report.setUpdatedAt(LocalDateTime.now());
             reportRepository.save(report);
+            auditLog.record(Action.DELETE, Target.REPORT, id, report.getEmployee().getCode());
+            AfterCommit.run(() -> {
+                reportSearchIndex.delete(id);
+                reportStatisticsStore.remove(report.getEmployee().getCode(), report.getReportDate());
+                reportSubmissionIndex.remove(report.getEmployee().getCode(), report.getReportDate());
+            });
         });
     }
 
+    // 従業員に紐づく日報を一括論理削除し、更新件数を返す
+    // (1件ずつ取得・保存せず、チャンク単位のUPDATE文で処理する)
+    // チャンクごとに別のトランザクションでコミットし、ロック・undoログをチャンク分に抑える
+    // (途中で失敗した場合は削除済みのチャンクはそのまま残るため、削除済みの件数をログに残して例外を送出する)
+    public int deleteByEmployeeCode(String employeeCode) {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int updated;
+        try {
+            do {
+                updated = deleteChunk(employeeCode, now);
+                total += updated;
+            } while (updated == BULK_DELETE_CHUNK_SIZE);
+        } catch (DataAccessException e) {
+            log.error("従業員 {} の日報の論理削除が途中で失敗しました (削除済み: {}件、残りの日報は有効のまま)", employeeCode, total, e);
+            throw e;
+        } finally {
+            // 各チャンクはコミット済みのため、メモリ上の索引・集計へ即時反映する
+            // (従業員は削除済みのため、途中で失敗した場合も検索・集計の対象から外す)
+            reportSearchIndex.deleteByEmployeeCode(employeeCode);
+            reportStatisticsStore.removeEmployee(employeeCode);
+            reportSubmissionIndex.removeEmployee(employeeCode);
+        }
+        return total;
+    }
+
+    // 1チャンク分の論理削除 (一時的な失敗は BULK_DELETE_MAX_ATTEMPTS 回まで再試行する)
+    private int deleteChunk(String employeeCode, LocalDateTime now) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return chunkTransaction.execute(
+                        status -> reportRepository.softDeleteByEmployeeCode(employeeCode, now, BULK_DELETE_CHUNK_SIZE));
+            } catch (TransientDataAccessException e) {
+                if (attempt >= BULK_DELETE_MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("従業員 {} の日報の論理削除を再試行します ({}回目)", employeeCode, attempt + 1, e);
+            }
+        }
+    }
+
+    // ** ユーザー権限に応じた日報検索 (一般ユーザーは自身の日報のみ)**
+    @Transactional(readOnly = true)
+    public ReportSearchResult searchByUserRole(String employeeCode, String query, int page) {
+        Employee employee = findEmployeeByCode(employeeCode);
+        return reportSearchIndex.search(query, employee.getRole() == Role.ADMIN ? null : employeeCode, page);
+    }
+
     // ** ユーザー権限に応じた日報取得メソッド**
-    public List<Report> findReportsByUserRole(String employeeCode) {
+    // (直近の月の日報のみ。includeArchived が true の場合は全期間)
+    @Transactional(readOnly = true)
+    public List<ReportSummary> findReportsByUserRole(String employeeCode) {
+        return findReportsByUserRole(employeeCode, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportSummary> findReportsByUserRole(String employeeCode, boolean includeArchived) {
         Employee employee = findEmployeeByCode(employeeCode);
+        LocalDate since = since(includeArchived);
 
         // ** Enum の比較を `==` で行う**
         if (employee.getRole() == Role.ADMIN) {
-            return reportRepository.findAll(); // **管理者は全データ取得**
+            return reportRepository.findAllSummaries(since); // **管理者は全データ取得**
         }
 
-        return reportRepository.findByEmployeeCode(employeeCode); // **一般ユーザーは自身のデータのみ**
+        return reportRepository.findSummariesByEmployeeCode(employeeCode, since); // **一般ユーザーは自身のデータのみ**
+    }
+
+    // ** ユーザー権限に応じた日報詳細 (API用。一般ユーザーは自身の日報のみ、パスワード等は読み込まない)**
+    @Transactional(readOnly = true)
+    public Optional<ReportDetail> findReportDetailByUserRole(String employeeCode, Long id) {
+        Employee employee = findEmployeeByCode(employeeCode);
+        return reportRepository.findReportDetail(id).filter(
+                report -> employee.getRole() == Role.ADMIN || report.getEmployeeCode().equals(employeeCode));
+    }
+
+    // 従業員の1か月分の日報カレンダー (日付・ID・タイトルのみを1回の範囲検索で取得)
+    @Transactional(readOnly = true)
+    public ReportCalendar findCalendar(String employeeCode, YearMonth month) {
+        return new ReportCalendar(employeeCode, month,
+                reportRepository.findCalendarEntries(employeeCode, month.atDay(1), month.atEndOfMonth()));
     }
 
+    // ** ユーザー権限に応じた日報取得 (キーセット方式のページング)**
+    // after: 次ページ表示時のカーソル、before: 前ページ表示時のカーソル (どちらも未指定なら先頭ページ)
+    // includeArchived: false の場合は直近 hot-months か月の日報のみ (過去の月のパーティションを読まない)
+    @Transactional(readOnly = true)
+    public ReportPage findReportPageByUserRole(String employeeCode, String after, String before,
+            boolean includeArchived) {
+        return findReportPageByUserRole(employeeCode, after, before, includeArchived, PAGE_SIZE);
+    }
+
+    // pageSize: 1ページの件数 (API用)
+    @Transactional(readOnly = true)
+    public ReportPage findReportPageByUserRole(String employeeCode, String after, String before,
+            boolean includeArchived, int pageSize) {
+        Employee employee = findEmployeeByCode(employeeCode);
+        boolean isAdmin = employee.getRole() == Role.ADMIN;
+        LocalDate since = since(includeArchived);
+
+        // 次ページの有無を判定するため1件多く取得する
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        LocalDate afterDate = ReportPage.cursorDate(after);
+        Long afterId = ReportPage.cursorId(after);
+        LocalDate beforeDate = ReportPage.cursorDate(before);
+        Long beforeId = ReportPage.cursorId(before);
+
+        List<ReportSummary> rows;
+        boolean backward = false;
+        if (afterDate != null && afterId != null) {
+            rows = isAdmin ? reportRepository.findPageAfter(since, afterDate, afterId, limit)
+                    : reportRepository.findPageAfterByEmployeeCode(employeeCode, since, afterDate, afterId, limit);
+        } else if (beforeDate != null && beforeId != null) {
+            rows = isAdmin ? reportRepository.findPageBefore(since, beforeDate, beforeId, limit)
+                    : reportRepository.findPageBeforeByEmployeeCode(employeeCode, since, beforeDate, beforeId, limit);
+            backward = true;
+        } else {
+            rows = isAdmin ? reportRepository.findFirstPage(since, limit)
+                    : reportRepository.findFirstPageByEmployeeCode(employeeCode, since, limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ReportSummary> reports = hasMore ? rows.subList(0, pageSize) : rows;
+        if (backward) {
+            // 前ページは昇順で取得しているため表示順 (降順) に戻す
+            reports = new ArrayList<>(reports);
+            Collections.reverse(reports);
+        }
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!reports.isEmpty()) {
+            ReportSummary first = reports.get(0);
+            ReportSummary last = reports.get(reports.size() - 1);
+            // 前方向に辿った場合は「さらに前」があるかどうかがhasMoreで分かり、次ページは必ず存在する
+            boolean hasNext = backward || hasMore;
+            boolean hasPrev = backward ? hasMore : (afterDate != null && afterId != null);
+            nextCursor = hasNext ? ReportPage.toCursor(last.getReportDate(), last.getId()) : null;
+            prevCursor = hasPrev ? ReportPage.toCursor(first.getReportDate(), first.getId()) : null;
+        }
+
+        long totalCount = isAdmin ? reportRepository.countByReportDateGreaterThanEqual(since)
+                : reportRepository.countByEmployeeCodeAndReportDateGreaterThanEqual(employeeCode, since);
+
+        return new ReportPage(reports, totalCount, nextCursor, prevCursor);
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.techacademy.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techacademy.dto.ReportSubmission;
+import com.techacademy.repository.ReportRepository;
+
+// 日報の提出状況の集計ストア (メモリ上に保持)
+// 従業員ごとに「提出日 → 期限内に提出したか」を保持し、日報の登録・更新・削除のたびに差分を反映する
+// 期限内: 日報の日付当日までに登録されたもの
+@Component
+public class ReportStatisticsStore {
+
+    private final ReportRepository reportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    // 社員番号 → (日付 → 期限内に提出したか)
+    private Map<String, NavigableMap<LocalDate, Boolean>> submissions = new HashMap<>();
+    // 再集計中に発生した更新 (再集計結果へ適用してから切り替える)
+    private List<Consumer<Map<String, NavigableMap<LocalDate, Boolean>>>> pendingUpdates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Autowired
+    public ReportStatisticsStore(ReportRepository reportRepository, PlatformTransactionManager transactionManager,
+            @Value("${app.statistics.enabled:true}") boolean enabled) {
+        this.reportRepository = reportRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    // 起動完了後にバックグラウンドで集計
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAsync();
+    }
+
+    public void rebuildAsync() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("report-statistics").daemon(true).start(this::rebuild);
+    }
+
+    // 全日報から再集計
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                return; // 再集計中
+            }
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, NavigableMap<LocalDate, Boolean>> rebuilt = new HashMap<>();
+        boolean completed = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ReportSubmission> stream = reportRepository.streamSubmissions()) {
+                    Iterator<ReportSubmission> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        ReportSubmission submission = iterator.next();
+                        put(rebuilt, submission.getEmployeeCode(), submission.getReportDate(), submission.getCreatedAt());
+                    }
+                }
+            });
+            completed = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // 失敗した場合は途中までの結果を捨て、差分反映済みの集計をそのまま使う
+                if (completed) {
+                    // 再集計中の更新を適用 (登録・削除は何度適用しても同じ結果になる)
+                    for (Consumer<Map<String, NavigableMap<LocalDate, Boolean>>> update : pendingUpdates) {
+                        update.accept(rebuilt);
+                    }
+                    submissions = rebuilt;
+                    ready = true;
+                }
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // 日報の登録を反映
+    public void add(String employeeCode, LocalDate reportDate, LocalDateTime createdAt) {
+        apply(map -> put(map, employeeCode, reportDate, createdAt));
+    }
+
+    // 日報の日付変更を反映
+    public void move(String employeeCode, LocalDate oldDate, LocalDate newDate, LocalDateTime createdAt) {
+        apply(map -> {
+            remove(map, employeeCode, oldDate);
+            put(map, employeeCode, newDate, createdAt);
+        });
+    }
+
+    // 日報の論理削除を反映
+    public void remove(String employeeCode, LocalDate reportDate) {
+        apply(map -> remove(map, employeeCode, reportDate));
+    }
+
+    // 従業員の日報の一括論理削除を反映
+    public void removeEmployee(String employeeCode) {
+        apply(map -> map.remove(employeeCode));
+    }
+
+    private void apply(Consumer<Map<String, NavigableMap<LocalDate, Boolean>>> update) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            update.accept(submissions);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 期間内 (from～to、両端を含む) の提出件数
+    public Map<String, Integer> countByEmployee(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> counts = new HashMap<>();
+            for (Map.Entry<String, NavigableMap<LocalDate, Boolean>> entry : submissions.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue().subMap(from, true, to, true).size());
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 期間内 (from～to、両端を含む) の期限内提出率 (%)。提出がない場合は含めない
+    public Map<String, Integer> onTimeRateByEmployee(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> rates = new HashMap<>();
+            for (Map.Entry<String, NavigableMap<LocalDate, Boolean>> entry : submissions.entrySet()) {
+                NavigableMap<LocalDate, Boolean> range = entry.getValue().subMap(from, true, to, true);
+                if (range.isEmpty()) {
+                    continue;
+                }
+                int onTime = 0;
+                for (Boolean value : range.values()) {
+                    if (value) {
+                        onTime++;
+                    }
+                }
+                rates.put(entry.getKey(), onTime * 100 / range.size());
+            }
+            return rates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 連続提出日数 (平日のみ数え、土日は途切れとしない。当日が未提出の場合は前日までで数える)
+    public Map<String, Integer> streakByEmployee(LocalDate today) {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> streaks = new HashMap<>();
+            for (Map.Entry<String, NavigableMap<LocalDate, Boolean>> entry : submissions.entrySet()) {
+                streaks.put(entry.getKey(), streak(entry.getValue(), today));
+            }
+            return streaks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 起動時の集計が完了しているか
+    public boolean isReady() {
+        return ready;
+    }
+
+    static int streak(NavigableMap<LocalDate, Boolean> dates, LocalDate today) {
+        LocalDate day = dates.containsKey(today) ? today : today.minusDays(1);
+        int streak = 0;
+        while (true) {
+            if (isWeekend(day)) {
+                day = day.minusDays(1);
+                continue;
+            }
+            if (!dates.containsKey(day)) {
+                return streak;
+            }
+            streak++;
+            day = day.minusDays(1);
+        }
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    private static void put(Map<String, NavigableMap<LocalDate, Boolean>> map, String employeeCode, LocalDate reportDate,
+            LocalDateTime createdAt) {
+        boolean onTime = createdAt == null || !createdAt.toLocalDate().isAfter(reportDate);
+        map.computeIfAbsent(employeeCode, code -> new TreeMap<>()).put(reportDate, onTime);
+    }
+
+    private static void remove(Map<String, NavigableMap<LocalDate, Boolean>> map, String employeeCode,
+            LocalDate reportDate) {
+        NavigableMap<LocalDate, Boolean> dates = map.get(employeeCode);
+        if (dates != null) {
+            dates.remove(reportDate);
+            if (dates.isEmpty()) {
+                map.remove(employeeCode);
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.techacademy.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techacademy.dto.EmployeeEnrollment;
+import com.techacademy.dto.ReportSubmission;
+import com.techacademy.repository.EmployeeRepository;
+import com.techacademy.repository.ReportRepository;
+
+// 日報の未提出者の索引 (メモリ上に保持)
+// 従業員に登録日時順の連番を割り当て、日付ごとに「日報を提出した従業員」のビット集合を持つ
+// 未提出者は「その日までに登録された有効な従業員」から提出済みの従業員を除くビット演算で求める (従業員ごとにDBへ問い合わせない)
+@Component
+public class ReportSubmissionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSubmissionIndex.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final ReportRepository reportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private Submissions submissions = new Submissions();
+    // 再作成中に発生した更新 (再作成結果へ適用してから切り替える)
+    private List<Consumer<Submissions>> pendingUpdates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Autowired
+    public ReportSubmissionIndex(EmployeeRepository employeeRepository, ReportRepository reportRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.submission-index.enabled:true}") boolean enabled) {
+        this.employeeRepository = employeeRepository;
+        this.reportRepository = reportRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    // 起動完了後にバックグラウンドで作成
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAsync();
+    }
+
+    public void rebuildAsync() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("report-submission-index").daemon(true).start(this::rebuild);
+    }
+
+    // 有効な従業員と全日報から作り直す
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                return; // 再作成中
+            }
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Submissions rebuilt = new Submissions();
+        boolean completed = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (EmployeeEnrollment enrollment : employeeRepository.findEnrollments()) {
+                    rebuilt.enroll(enrollment.getCode(), enrollment.getCreatedAt().toLocalDate());
+                }
+                try (Stream<ReportSubmission> stream = reportRepository.streamSubmissions()) {
+                    Iterator<ReportSubmission> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        ReportSubmission submission = iterator.next();
+                        rebuilt.add(submission.getEmployeeCode(), submission.getReportDate());
+                    }
+                }
+            });
+            completed = true;
+        } catch (RuntimeException e) {
+            // 起動時は別スレッドで実行するため、例外を投げずに記録する (isReady() は false のまま。再作成で復旧できる)
+            log.error("日報の未提出者の索引の作成に失敗しました", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // 失敗した場合は途中までの結果を捨て、差分反映済みの索引をそのまま使う
+                if (completed) {
+                    for (Consumer<Submissions> update : pendingUpdates) {
+                        update.accept(rebuilt);
+                    }
+                    submissions = rebuilt;
+                    ready = true;
+                }
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // 従業員の登録を反映
+    public void enroll(String employeeCode, LocalDateTime createdAt) {
+        apply(index -> index.enroll(employeeCode, createdAt.toLocalDate()));
+    }
+
+    // 従業員の論理削除を反映
+    public void withdraw(String employeeCode) {
+        apply(index -> index.withdraw(employeeCode));
+    }
+
+    // 日報の登録を反映
+    public void add(String employeeCode, LocalDate reportDate) {
+        apply(index -> index.add(employeeCode, reportDate));
+    }
+
+    // 日報の日付変更を反映
+    public void move(String employeeCode, LocalDate oldDate, LocalDate newDate) {
+        apply(index -> {
+            index.remove(employeeCode, oldDate);
+            index.add(employeeCode, newDate);
+        });
+    }
+
+    // 日報の論理削除を反映
+    public void remove(String employeeCode, LocalDate reportDate) {
+        apply(index -> index.remove(employeeCode, reportDate));
+    }
+
+    // 従業員の日報の一括論理削除を反映
+    public void removeEmployee(String employeeCode) {
+        apply(index -> index.removeEmployee(employeeCode));
+    }
+
+    private void apply(Consumer<Submissions> update) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            update.accept(submissions);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 指定した日の未提出者の社員番号 (社員番号順)
+    public List<String> missingOn(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            return submissions.codes(submissions.missing(date));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 期間内 (from～to、両端を含む) の平日の未提出日数 (未提出の日がある従業員のみ)
+    public Map<String, Integer> missingDaysByEmployee(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            int[] days = new int[submissions.codes.size()];
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (isWeekend(date)) {
+                    continue;
+                }
+                BitSet missing = submissions.missing(date);
+                for (int i = missing.nextSetBit(0); i >= 0; i = missing.nextSetBit(i + 1)) {
+                    days[i]++;
+                }
+            }
+            Map<String, Integer> result = new HashMap<>();
+            for (int i = 0; i < days.length; i++) {
+                if (days[i] > 0) {
+                    result.put(submissions.codes.get(i), days[i]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 期間内 (from～to、両端を含む) の平日ごとの未提出者数
+    public Map<LocalDate, Integer> missingCountByDate(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Map<LocalDate, Integer> counts = new TreeMap<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (!isWeekend(date)) {
+                    counts.put(date, submissions.missing(date).cardinality());
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 起動時の作成が完了しているか
+    public boolean isReady() {
+        return ready;
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    // 連番・有効な従業員・日付ごとの提出済み従業員
+    static class Submissions {
+
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        // 連番 → 社員番号
+        private final List<String> codes = new ArrayList<>();
+        // 連番 → 登録日 (連番順に昇順。登録日が前後する場合は直前の従業員の登録日に揃える)
+        private final List<LocalDate> enrolledOn = new ArrayList<>();
+        private final BitSet active = new BitSet();
+        private final Map<LocalDate, BitSet> submitted = new HashMap<>();
+
+        int enroll(String code, LocalDate date) {
+            Integer ordinal = ordinals.get(code);
+            if (ordinal == null) {
+                ordinal = codes.size();
+                ordinals.put(code, ordinal);
+                codes.add(code);
+                LocalDate last = enrolledOn.isEmpty() ? date : enrolledOn.get(enrolledOn.size() - 1);
+                enrolledOn.add(date.isBefore(last) ? last : date);
+            }
+            active.set(ordinal);
+            return ordinal;
+        }
+
+        void withdraw(String code) {
+            Integer ordinal = ordinals.get(code);
+            if (ordinal != null) {
+                active.clear(ordinal);
+            }
+        }
+
+        void add(String code, LocalDate date) {
+            Integer ordinal = ordinals.get(code);
+            int bit = ordinal != null ? ordinal : enroll(code, date);
+            submitted.computeIfAbsent(date, key -> new BitSet()).set(bit);
+        }
+
+        void remove(String code, LocalDate date) {
+            Integer ordinal = ordinals.get(code);
+            BitSet bits = submitted.get(date);
+            if (ordinal != null && bits != null) {
+                bits.clear(ordinal);
+                if (bits.isEmpty()) {
+                    submitted.remove(date);
+                }
+            }
+        }
+
+        void removeEmployee(String code) {
+            Integer ordinal = ordinals.get(code);
+            if (ordinal != null) {
+                submitted.values().removeIf(bits -> {
+                    bits.clear(ordinal);
+                    return bits.isEmpty();
+                });
+            }
+        }
+
+        // 未提出者: 連番は登録日順のため、その日までに登録された従業員は先頭からの連続した範囲になる
+        BitSet missing(LocalDate date) {
+            BitSet missing = active.get(0, enrolledBy(date));
+            BitSet bits = submitted.get(date);
+            if (bits != null) {
+                missing.andNot(bits);
+            }
+            return missing;
+        }
+
+        // 登録日が date 以前の従業員の数
+        private int enrolledBy(LocalDate date) {
+            int low = 0;
+            int high = enrolledOn.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (enrolledOn.get(middle).isAfter(date)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        List<String> codes(BitSet bits) {
+            List<String> result = new ArrayList<>(bits.cardinality());
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                result.add(codes.get(i));
+            }
+            Collections.sort(result);
+            return result;
+        }
+    }
+}
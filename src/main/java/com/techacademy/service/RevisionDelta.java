@@ -0,0 +1,40 @@
+package com.techacademy.service;
+
+// 文字列の差分 (直前の版と共通する先頭・末尾の文字数と、その間の置き換え後の文字列)
+// 形式: "先頭の文字数:末尾の文字数:置き換え後の文字列"
+// 日報の編集は一部分の書き換えがほとんどのため、前後の共通部分を除くだけで全文より大幅に小さくなる
+public final class RevisionDelta {
+
+    private RevisionDelta() {
+    }
+
+    public static String diff(String previous, String current) {
+        int max = Math.min(previous.length(), current.length());
+        int prefix = 0;
+        while (prefix < max && previous.charAt(prefix) == current.charAt(prefix)) {
+            prefix++;
+        }
+        // サロゲートペアを分割しない (差分単体でも正しい文字列として保存できるようにする)
+        if (prefix > 0 && Character.isHighSurrogate(current.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && previous.charAt(previous.length() - 1 - suffix) == current.charAt(current.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(current.charAt(current.length() - suffix))) {
+            suffix--;
+        }
+        return prefix + ":" + suffix + ":" + current.substring(prefix, current.length() - suffix);
+    }
+
+    public static String apply(String previous, String delta) {
+        int first = delta.indexOf(':');
+        int second = delta.indexOf(':', first + 1);
+        int prefix = Integer.parseInt(delta.substring(0, first));
+        int suffix = Integer.parseInt(delta.substring(first + 1, second));
+        return previous.substring(0, prefix) + delta.substring(second + 1)
+                + previous.substring(previous.length() - suffix);
+    }
+}
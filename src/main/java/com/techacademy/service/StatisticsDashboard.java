@@ -0,0 +1,35 @@
+package com.techacademy.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.techacademy.dto.SubmissionStatistics;
+
+// 提出状況の集計画面の表示内容
+public class StatisticsDashboard {
+
+    private final LocalDate today;
+    private final List<SubmissionStatistics> rows;
+    private final boolean ready;
+
+    public StatisticsDashboard(LocalDate today, List<SubmissionStatistics> rows, boolean ready) {
+        this.today = today;
+        this.rows = rows;
+        this.ready = ready;
+    }
+
+    // 集計の基準日
+    public LocalDate getToday() {
+        return today;
+    }
+
+    // 社員番号順の集計結果
+    public List<SubmissionStatistics> getRows() {
+        return rows;
+    }
+
+    // 起動時の集計が完了しているか (集計中は値が不完全な場合がある)
+    public boolean isReady() {
+        return ready;
+    }
+}
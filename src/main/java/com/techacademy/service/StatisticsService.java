@@ -0,0 +1,108 @@
+package com.techacademy.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.techacademy.dto.EmployeeSummary;
+import com.techacademy.dto.MissingReportCount;
+import com.techacademy.dto.SubmissionStatistics;
+import com.techacademy.repository.EmployeeRepository;
+
+@Service
+public class StatisticsService {
+
+    // 未提出者の確認で指定できる最大の日数
+    public static final int MAX_MISSING_RANGE_DAYS = 366;
+
+    private final EmployeeRepository employeeRepository;
+    private final ReportStatisticsStore reportStatisticsStore;
+    private final ReportSubmissionIndex reportSubmissionIndex;
+    private final ReportReminderJob reportReminderJob;
+    private final Executor executor;
+
+    @Autowired
+    public StatisticsService(EmployeeRepository employeeRepository, ReportStatisticsStore reportStatisticsStore,
+            ReportSubmissionIndex reportSubmissionIndex, ReportReminderJob reportReminderJob,
+            @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.employeeRepository = employeeRepository;
+        this.reportStatisticsStore = reportStatisticsStore;
+        this.reportSubmissionIndex = reportSubmissionIndex;
+        this.reportReminderJob = reportReminderJob;
+        this.executor = executor;
+    }
+
+    // 提出状況の集計 (各集計は互いに独立しているため並行して取得する)
+    public StatisticsDashboard loadDashboard(LocalDate today) {
+        LocalDate thisMonth = today.withDayOfMonth(1);
+        LocalDate lastMonth = thisMonth.minusMonths(1);
+        LocalDate thisWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate lastWeek = thisWeek.minusWeeks(1);
+
+        CompletableFuture<List<EmployeeSummary>> employees = CompletableFuture
+                .supplyAsync(employeeRepository::findAllSummaries, executor);
+        CompletableFuture<Map<String, Integer>> thisMonthCounts = CompletableFuture.supplyAsync(
+                () -> reportStatisticsStore.countByEmployee(thisMonth, thisMonth.plusMonths(1).minusDays(1)), executor);
+        CompletableFuture<Map<String, Integer>> lastMonthCounts = CompletableFuture.supplyAsync(
+                () -> reportStatisticsStore.countByEmployee(lastMonth, thisMonth.minusDays(1)), executor);
+        CompletableFuture<Map<String, Integer>> thisWeekCounts = CompletableFuture.supplyAsync(
+                () -> reportStatisticsStore.countByEmployee(thisWeek, thisWeek.plusDays(6)), executor);
+        CompletableFuture<Map<String, Integer>> lastWeekCounts = CompletableFuture.supplyAsync(
+                () -> reportStatisticsStore.countByEmployee(lastWeek, thisWeek.minusDays(1)), executor);
+        CompletableFuture<Map<String, Integer>> onTimeRates = CompletableFuture.supplyAsync(
+                () -> reportStatisticsStore.onTimeRateByEmployee(thisMonth, thisMonth.plusMonths(1).minusDays(1)),
+                executor);
+        CompletableFuture<Map<String, Integer>> streaks = CompletableFuture
+                .supplyAsync(() -> reportStatisticsStore.streakByEmployee(today), executor);
+
+        CompletableFuture.allOf(employees, thisMonthCounts, lastMonthCounts, thisWeekCounts, lastWeekCounts,
+                onTimeRates, streaks).join();
+
+        List<SubmissionStatistics> rows = new ArrayList<>();
+        for (EmployeeSummary employee : employees.join()) {
+            String code = employee.getCode();
+            rows.add(new SubmissionStatistics(code, employee.getName(), thisMonthCounts.join().getOrDefault(code, 0),
+                    lastMonthCounts.join().getOrDefault(code, 0), thisWeekCounts.join().getOrDefault(code, 0),
+                    lastWeekCounts.join().getOrDefault(code, 0), onTimeRates.join().get(code),
+                    streaks.join().getOrDefault(code, 0)));
+        }
+        return new StatisticsDashboard(today, rows, reportStatisticsStore.isReady());
+    }
+
+    // 期間内 (from～to、両端を含む) の未提出者 (期間は to から最大 MAX_MISSING_RANGE_DAYS 日まで)
+    // 未提出者は索引から求め、DBからは該当する従業員の氏名のみを取得する
+    public MissingReports findMissing(LocalDate from, LocalDate to) {
+        LocalDate earliest = to.minusDays(MAX_MISSING_RANGE_DAYS - 1);
+        LocalDate start = from.isBefore(earliest) ? earliest : from;
+        Map<String, Integer> missingDays = reportSubmissionIndex.missingDaysByEmployee(start, to);
+        List<MissingReportCount> rows = new ArrayList<>();
+        if (!missingDays.isEmpty()) {
+            for (EmployeeSummary employee : employeeRepository.findSummariesByCodeIn(missingDays.keySet())) {
+                rows.add(new MissingReportCount(employee.getCode(), employee.getName(),
+                        missingDays.get(employee.getCode())));
+            }
+        }
+        return new MissingReports(start, to, rows, reportSubmissionIndex.missingCountByDate(start, to),
+                reportSubmissionIndex.isReady());
+    }
+
+    // 指定した日の未提出者へお知らせを送信し、送信した件数を返す
+    public int remindMissing(LocalDate reportDate) {
+        return reportReminderJob.remind(reportDate);
+    }
+
+    // 提出状況をDBから再集計 (バックグラウンドで実行)
+    public void rebuild() {
+        reportStatisticsStore.rebuildAsync();
+        reportSubmissionIndex.rebuildAsync();
+    }
+}
@@ -0,0 +1,160 @@
+package com.techacademy.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 認証時の従業員情報キャッシュ (件数上限・有効期限付き)
+@Component
+public class UserDetailCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // アクセス順のLinkedHashMap (先頭が最も古く参照されたエントリ)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 無効化のたびに進める世代番号 (読み込み中に無効化された値をキャッシュしないため)
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public UserDetailCache(@Value("${app.auth-cache.max-size:1000}") int maxSize,
+            @Value("${app.auth-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    // キャッシュから取得 (未登録・期限切れの場合はnull)
+    public UserDetail get(String code) {
+        if (maxSize <= 0) {
+            misses.increment();
+            return null;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(code);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt - System.nanoTime() <= 0) {
+                entries.remove(code);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.userDetail;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // DB読み込み前に取得する世代番号
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    // キャッシュへ登録 (読み込み開始後に無効化が発生していた場合は登録しない)
+    public void put(String code, UserDetail userDetail, long loadedGeneration) {
+        if (maxSize <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (generation.get() != loadedGeneration) {
+                return;
+            }
+            entries.put(code, new Entry(userDetail, System.nanoTime() + ttlNanos));
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 従業員1件分を無効化 (トランザクション中であればコミット後にも再度無効化する)
+    public void invalidate(String code) {
+        evict(code);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(code);
+                }
+            });
+        }
+    }
+
+    private void evict(String code) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            if (entries.remove(code) != null) {
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    // 件数上限による追い出し件数
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // 有効期限切れによる削除件数
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    // 従業員情報の更新による無効化件数
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    private static final class Entry {
+        private final UserDetail userDetail;
+        private final long expiresAt;
+
+        private Entry(UserDetail userDetail, long expiresAt) {
+            this.userDetail = userDetail;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
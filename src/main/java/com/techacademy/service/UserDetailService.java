@@ -13,18 +13,29 @@ import com.techacademy.repository.EmployeeRepository;
 @Service
 public class UserDetailService implements UserDetailsService {
     private final EmployeeRepository employeeRepository;
+    private final UserDetailCache userDetailCache;
 
-    public UserDetailService(EmployeeRepository repository) {
+    public UserDetailService(EmployeeRepository repository, UserDetailCache userDetailCache) {
         this.employeeRepository = repository;
+        this.userDetailCache = userDetailCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // キャッシュに有効な情報があればDBへ問い合わせない
+        UserDetail cached = userDetailCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = userDetailCache.currentGeneration();
         Optional<Employee> employee = employeeRepository.findById(username);
 
         if (employee.isEmpty()) {
             throw new UsernameNotFoundException("Exception:Username Not Found");
         }
-        return new UserDetail(employee.get());
+        UserDetail userDetail = new UserDetail(employee.get());
+        userDetailCache.put(username, userDetail, generation);
+        return userDetail;
     }
 }
\ No newline at end of file
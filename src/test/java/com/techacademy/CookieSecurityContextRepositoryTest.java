@@ -0,0 +1,98 @@
+package com.techacademy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Employee.Role;
+import com.techacademy.service.EmployeeService;
+import com.techacademy.service.UserDetail;
+
+import jakarta.servlet.http.Cookie;
+
+class CookieSecurityContextRepositoryTest {
+
+    private SessionTokenCodec codec;
+    private Employee employee;
+    private EmployeeService employeeService;
+    private CookieSecurityContextRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) 1);
+        codec = new SessionTokenCodec(key);
+        employee = new Employee();
+        employee.setCode("2");
+        employee.setRole(Role.GENERAL);
+        employee.setCredentialVersion(4);
+        employeeService = mock(EmployeeService.class);
+        when(employeeService.findCredentialVersion("2")).thenReturn(Optional.of(4));
+        repository = new CookieSecurityContextRepository(codec, code -> new UserDetail(employee), employeeService,
+                Duration.ofMinutes(30));
+    }
+
+    private SecurityContext load(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(CookieSecurityContextRepository.COOKIE_NAME, token));
+        return repository.loadDeferredContext(request).get();
+    }
+
+    private SecurityContext load(int credentialVersion) {
+        return load(codec.encode("2", credentialVersion, Instant.now().plusSeconds(600)));
+    }
+
+    // 発行時と世代が同じ場合のみログイン状態を復元する (ログアウト・パスワード変更後は以前のCookieを受け付けない)
+    @Test
+    void restoresOnlyCurrentCredentialVersion() {
+        assertEquals("2", load(4).getAuthentication().getName());
+        assertNull(load(3).getAuthentication());
+
+        when(employeeService.findCredentialVersion("2")).thenReturn(Optional.of(5));
+        assertNull(load(4).getAuthentication());
+    }
+
+    // 認証キャッシュが古い世代のままでも (他のノードでログアウト・パスワード変更した場合)、DBの世代で検証・発行する
+    @Test
+    void ignoresStaleCachedCredentialVersion() {
+        when(employeeService.findCredentialVersion("2")).thenReturn(Optional.of(5));
+
+        assertNull(load(4).getAuthentication());
+        assertEquals("2", load(5).getAuthentication().getName());
+
+        // 古い世代の認証キャッシュでログインした場合も、DBの世代でCookieを発行する
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveContext(new SecurityContextImpl(new TestingAuthenticationToken(new UserDetail(employee), null,
+                "GENERAL")), new MockHttpServletRequest(), response);
+        assertEquals(5, codec.decode(response.getCookie(CookieSecurityContextRepository.COOKIE_NAME).getValue(),
+                Instant.now()).orElseThrow().getCredentialVersion());
+    }
+
+    // ログアウト時に従業員の世代を進める
+    @Test
+    void revokesOnLogout() {
+        UserDetail user = new UserDetail(employee);
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(user, null,
+                user.getAuthorities());
+        repository.logout(new MockHttpServletRequest(), new MockHttpServletResponse(), authentication);
+        verify(employeeService).revokeSessions("2");
+    }
+}
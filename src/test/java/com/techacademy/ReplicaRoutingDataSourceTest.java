@@ -0,0 +1,111 @@
+package com.techacademy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// プライマリ・レプリカを2つの組み込みH2で代用し、接続先の振り分けを確認する
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(10))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+        DataSource primary = database(ReplicaRoutingDataSource.PRIMARY);
+        routing.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, primary, ReplicaRoutingDataSource.REPLICA,
+                database(ReplicaRoutingDataSource.REPLICA)));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearForcePrimary();
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    // 読み取り専用トランザクションのみレプリカへ接続すること
+    @Test
+    void testRouting() {
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    // プライマリへ固定した場合は読み取り専用トランザクションもプライマリへ接続すること
+    @Test
+    void testForcePrimary() {
+        ReplicaRoutingDataSource.forcePrimary();
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+        ReplicaRoutingDataSource.clearForcePrimary();
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    // 更新系リクエストの後、一定時間内の参照はプライマリへ固定されること
+    @Test
+    void testReadYourWrites() throws Exception {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(60_000);
+        MockHttpSession session = new MockHttpSession();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/reports");
+        get.setSession(session);
+        interceptor.preHandle(get, response, null);
+        assertFalse(ReplicaRoutingDataSource.isPrimaryForced());
+
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/reports/add");
+        post.setSession(session);
+        interceptor.preHandle(post, response, null);
+        assertTrue(ReplicaRoutingDataSource.isPrimaryForced());
+        interceptor.afterCompletion(post, response, null, null);
+        assertFalse(ReplicaRoutingDataSource.isPrimaryForced());
+
+        interceptor.preHandle(get, response, null);
+        assertTrue(ReplicaRoutingDataSource.isPrimaryForced());
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+        interceptor.afterCompletion(get, response, null, null);
+
+        session.setAttribute(ReadYourWritesInterceptor.LAST_WRITE_AT, System.currentTimeMillis() - 60_000);
+        interceptor.preHandle(get, response, null);
+        assertFalse(ReplicaRoutingDataSource.isPrimaryForced());
+    }
+}
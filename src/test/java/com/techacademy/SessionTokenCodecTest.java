@@ -0,0 +1,65 @@
+package com.techacademy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.techacademy.SessionTokenCodec.SessionToken;
+
+class SessionTokenCodecTest {
+
+    private static final Instant NOW = Instant.parse("2025-04-01T09:00:00Z");
+
+    private static byte[] key(int seed) {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) seed);
+        return key;
+    }
+
+    @Test
+    void decodesEncodedToken() {
+        SessionTokenCodec codec = new SessionTokenCodec(key(1));
+        String token = codec.encode("E000001", 3, NOW.plusSeconds(1800));
+
+        SessionToken decoded = codec.decode(token, NOW).orElseThrow();
+        assertEquals("E000001", decoded.getEmployeeCode());
+        assertEquals(3, decoded.getCredentialVersion());
+        assertEquals(NOW.plusSeconds(1800), decoded.getExpiresAt());
+        // 同じ内容でもIVが異なるため毎回異なる値になる
+        assertNotEquals(token, codec.encode("E000001", 3, NOW.plusSeconds(1800)));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        SessionTokenCodec codec = new SessionTokenCodec(key(1));
+        String token = codec.encode("E000001", 3, NOW);
+
+        assertTrue(codec.decode(token, NOW).isEmpty());
+        assertTrue(codec.decode(token, NOW.minusSeconds(1)).isPresent());
+    }
+
+    @Test
+    void rejectsTamperedOrForeignToken() {
+        SessionTokenCodec codec = new SessionTokenCodec(key(1));
+        String token = codec.encode("E000001", 3, NOW.plusSeconds(1800));
+
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        bytes[bytes.length - 1] ^= 1;
+        assertTrue(codec.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), NOW).isEmpty());
+        assertTrue(new SessionTokenCodec(key(2)).decode(token, NOW).isEmpty());
+        assertTrue(codec.decode("not a token", NOW).isEmpty());
+        assertTrue(codec.decode("", NOW).isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidKeyLength() {
+        assertThrows(IllegalArgumentException.class, () -> new SessionTokenCodec(new byte[10]));
+    }
+}
@@ -0,0 +1,84 @@
+package com.techacademy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+class StaticResourceConfigurationTest {
+
+    // 事前に圧縮したファイルが元のファイルと同じ内容か (元のファイルを差し替えた場合は gzip -9 -k -n で作り直す)
+    @ParameterizedTest
+    @ValueSource(strings = { "static/css/bootstrap.min.css", "static/js/bootstrap.min.js" })
+    void gzipVariantMatchesSource(String path) throws IOException {
+        byte[] source;
+        try (InputStream inputStream = new ClassPathResource(path).getInputStream()) {
+            source = inputStream.readAllBytes();
+        }
+        byte[] decompressed;
+        try (InputStream inputStream = new GZIPInputStream(new ClassPathResource(path + ".gz").getInputStream())) {
+            decompressed = inputStream.readAllBytes();
+        }
+        assertArrayEquals(source, decompressed);
+    }
+
+    // ハッシュ付きURLのみ長期キャッシュとし、ハッシュなしのURLはハンドラーの既定 (no-cache) のままとする
+    @Test
+    void marksOnlyVersionedPathsImmutable() throws IOException {
+        List<Resource> locations = List.of(new ClassPathResource("static/css/"));
+        PathResourceResolver pathResolver = new PathResourceResolver();
+        ResourceResolverChain chain = new ResourceResolverChain() {
+            @Override
+            public Resource resolveResource(HttpServletRequest request, String requestPath,
+                    List<? extends Resource> locations) {
+                return pathResolver.resolveResource(request, requestPath, locations, null);
+            }
+
+            @Override
+            public String resolveUrlPath(String resourcePath, List<? extends Resource> locations) {
+                return pathResolver.resolveUrlPath(resourcePath, locations, null);
+            }
+        };
+        VersionResourceResolver resolver = new StaticResourceConfiguration.ImmutableVersionResourceResolver()
+                .addContentVersionStrategy("/**");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        Resource unversioned = resolver.resolveResource(request, "bootstrap.min.css", locations, chain);
+        assertFalse(unversioned instanceof HttpResource);
+
+        String version = new ContentVersionStrategy()
+                .getResourceVersion(new ClassPathResource("static/css/bootstrap.min.css"));
+        Resource versioned = resolver.resolveResource(request, "bootstrap.min-" + version + ".css", locations,
+                chain);
+        HttpHeaders headers = assertInstanceOf(HttpResource.class, versioned).getResponseHeaders();
+        assertEquals("max-age=31536000, public, immutable", headers.getCacheControl());
+        assertEquals("W/\"" + version + "\"", headers.getETag());
+        assertEquals("bootstrap.min.css", versioned.getFilename());
+
+        // CachingResourceTransformer のキャッシュで、ハッシュなしのURLのリソース (圧縮したファイルを含む) と区別されること
+        assertNotEquals(unversioned, versioned);
+        assertNotEquals(unversioned.createRelative("bootstrap.min.css.gz"),
+                versioned.createRelative("bootstrap.min.css.gz"));
+    }
+}
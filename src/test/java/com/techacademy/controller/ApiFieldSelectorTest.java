@@ -0,0 +1,38 @@
+package com.techacademy.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techacademy.dto.ReportSummary;
+
+class ApiFieldSelectorTest {
+
+    private final ApiFieldSelector selector = new ApiFieldSelector(new ObjectMapper().findAndRegisterModules());
+
+    private final ReportSummary report = new ReportSummary(1L, LocalDate.of(2025, 4, 7), "日報", "E000001", "山田");
+
+    // 指定した項目のみを返すこと (未指定の場合はそのまま)
+    @Test
+    void testSelect() {
+        assertEquals(Map.of("id", 1L, "title", "日報"), selector.select(report, " id, title "));
+        assertEquals(List.of(Map.of("employeeCode", "E000001")),
+                selector.select(List.of(report), ReportSummary.class, "employeeCode"));
+        assertSame(report, selector.select(report, null));
+    }
+
+    // 存在しない項目は 400 Bad Request
+    @Test
+    void testUnknownField() {
+        assertThrows(ResponseStatusException.class, () -> selector.select(report, "id,password"));
+        assertThrows(ResponseStatusException.class, () -> selector.select(List.of(), ReportSummary.class, "content"));
+    }
+}
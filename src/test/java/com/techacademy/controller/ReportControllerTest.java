@@ -0,0 +1,34 @@
+package com.techacademy.controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class ReportControllerTest {
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
+
+    @Test
+    void detectsEmployeeDateUniqueKey() {
+        assertTrue(ReportController.isDuplicateReportDate(violation("uk_reports_employee_date_active")));
+        // MySQL 8 はテーブル名付き、H2 は大文字・接尾辞付きで返す
+        assertTrue(ReportController.isDuplicateReportDate(violation("reports.uk_reports_employee_date_active")));
+        assertTrue(ReportController.isDuplicateReportDate(
+                violation("PUBLIC.UK_REPORTS_EMPLOYEE_DATE_ACTIVE_INDEX_8 ON PUBLIC.REPORTS(EMPLOYEE_CODE)")));
+    }
+
+    @Test
+    void rejectsOtherViolations() {
+        assertFalse(ReportController.isDuplicateReportDate(violation(null)));
+        assertFalse(ReportController.isDuplicateReportDate(violation("fk_reports_employee")));
+        assertFalse(ReportController.isDuplicateReportDate(new DataIntegrityViolationException("Data too long")));
+    }
+}
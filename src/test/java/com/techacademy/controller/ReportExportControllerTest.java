@@ -0,0 +1,77 @@
+package com.techacademy.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportExportControllerTest {
+
+    private MockMvc mockMvc;
+
+    private final WebApplicationContext webApplicationContext;
+
+    ReportExportControllerTest(WebApplicationContext context) {
+        this.webApplicationContext = context;
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        // Spring Securityを有効にする
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+    }
+
+    // 日報エクスポート
+    // テストケース1 管理者はCSVを取得できる
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testExportByAdmin() throws Exception {
+        MvcResult started = mockMvc.perform(get("/reports/export")) // URLにアクセス
+                .andExpect(request().asyncStarted()) // 結果は非同期で書き出す
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk()) // ステータスを確認
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reports.csv\""))
+                .andReturn();
+
+        String csv = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,employee_code,employee_name,report_date,title,content,created_at,updated_at\r\n"));
+    }
+
+    // テストケース2 一般ユーザーは取得できない
+    @Test
+    @WithMockUser(authorities = "GENERAL")
+    void testExportByGeneral() throws Exception {
+        mockMvc.perform(get("/reports/export")) // URLにアクセス
+                .andExpect(status().isForbidden()); // ステータスを確認
+    }
+
+    // テストケース3 未ログインの場合はログイン画面へ
+    @Test
+    void testExportWithoutLogin() throws Exception {
+        mockMvc.perform(get("/reports/export").param("format", "ndjson")) // URLにアクセス
+                .andExpect(status().is3xxRedirection()) // ステータスを確認
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.techacademy.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import com.techacademy.constants.ErrorKinds;
+import com.techacademy.entity.Report;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ValidationFailureCounterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ValidationFailureCounter counter = new ValidationFailureCounter(registry);
+
+    private Double count(ErrorKinds kind) {
+        Counter found = registry.find(ValidationFailureCounter.METRIC).tag("kind", kind.name()).counter();
+        return found == null ? null : found.count();
+    }
+
+    // 項目ごとに最初のエラーの種別で1件ずつ計測する (同じ項目に追加したエラーは数えない)
+    @Test
+    void recordsFieldErrorsOncePerField() {
+        BindingResult result = new BeanPropertyBindingResult(new Report(), "report");
+        result.rejectValue("title", "NotEmpty");
+        result.rejectValue("content", "Size");
+        result.rejectValue("reportDate", "NotNull");
+        result.rejectValue("reportDate", "error.reportDate");
+
+        counter.record(result);
+
+        assertEquals(2.0, count(ErrorKinds.BLANK_ERROR));
+        assertEquals(1.0, count(ErrorKinds.RANGECHECK_ERROR));
+        assertNull(count(ErrorKinds.FORMAT_ERROR));
+    }
+
+    @Test
+    void recordsErrorKinds() {
+        counter.record(ErrorKinds.DATECHECK_ERROR);
+        counter.record(ErrorKinds.DATECHECK_ERROR);
+
+        assertEquals(2.0, count(ErrorKinds.DATECHECK_ERROR));
+    }
+}
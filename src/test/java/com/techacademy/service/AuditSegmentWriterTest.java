@@ -0,0 +1,70 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.techacademy.dto.AuditEvent;
+import com.techacademy.dto.AuditEvent.Action;
+import com.techacademy.dto.AuditEvent.Target;
+
+class AuditSegmentWriterTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 4, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    private static AuditEvent event(int minutes, String actor, Action action, long reportId, String employeeCode) {
+        return new AuditEvent(BASE.plusMinutes(minutes), actor, action, Target.REPORT, String.valueOf(reportId),
+                employeeCode);
+    }
+
+    private List<AuditEvent> scan(String employeeCode, LocalDateTime from, LocalDateTime to) throws IOException {
+        List<AuditEvent> events = new ArrayList<>();
+        new AuditLogReader(directory).scan(employeeCode, from, to, events::add);
+        return events;
+    }
+
+    @Test
+    void rotatesSegmentsAndScansByEmployeeAndTime() throws IOException {
+        List<AuditEvent> written = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            written.add(event(i, i % 3 == 0 ? "E000001" : "E000002", Action.UPDATE, i, "E000002"));
+        }
+        // 1セグメントに数件しか入らない大きさで、複数のセグメントへ分かれることを確認する
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, 256)) {
+            writer.append(written.subList(0, 10));
+            writer.append(written.subList(10, 30));
+        }
+        assertEquals(true, AuditLogReader.segments(directory).size() > 1);
+
+        assertEquals(written, scan(null, null, null));
+        // 操作者または対象の社員番号で検索
+        assertEquals(10, scan("E000001", null, null).size());
+        assertEquals(30, scan("E000002", null, null).size());
+        assertEquals(List.of(), scan("E000003", null, null));
+        // from 以上、to 未満
+        assertEquals(written.subList(5, 12), scan(null, BASE.plusMinutes(5), BASE.plusMinutes(12)));
+    }
+
+    @Test
+    void continuesInNewSegmentAfterRestart() throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, 4096)) {
+            writer.append(List.of(event(0, "E000001", Action.CREATE, 1, "E000001")));
+        }
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, 4096)) {
+            writer.append(List.of(event(1, "E000001", Action.DELETE, 1, "E000001")));
+        }
+        assertEquals(2, AuditLogReader.segments(directory).size());
+        List<AuditEvent> events = scan(null, null, null);
+        assertEquals(List.of(Action.CREATE, Action.DELETE), events.stream().map(AuditEvent::getAction).toList());
+    }
+}
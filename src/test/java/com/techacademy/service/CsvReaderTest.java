@@ -0,0 +1,31 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+    // ダブルクォート内のカンマ・改行・エスケープされたクォートを1項目として読み込めること
+    @Test
+    void testReadRecord() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader(
+                "1,2025-04-01,タイトル,内容\r\n2,2025-04-02,\"カンマ,あり\",\"改行\nと\"\"引用符\"\"\"\n3,2025-04-03,末尾,改行なし"));
+
+        assertEquals(List.of("1", "2025-04-01", "タイトル", "内容"), reader.readRecord());
+        assertEquals(1, reader.getRecordLineNumber());
+
+        assertEquals(List.of("2", "2025-04-02", "カンマ,あり", "改行\nと\"引用符\""), reader.readRecord());
+        assertEquals(2, reader.getRecordLineNumber());
+
+        assertEquals(List.of("3", "2025-04-03", "末尾", "改行なし"), reader.readRecord());
+        assertEquals(4, reader.getRecordLineNumber());
+
+        assertNull(reader.readRecord());
+    }
+
+}
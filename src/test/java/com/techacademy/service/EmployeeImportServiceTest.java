@@ -0,0 +1,219 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techacademy.constants.ErrorKinds;
+
+import jakarta.validation.Validation;
+
+class EmployeeImportServiceTest {
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private BoundedPasswordEncoder passwordEncoder;
+    private AuditLog auditLog;
+    private EmployeeImportService service;
+
+    // 登録済みの社員番号 → 論理削除済みか (DBの値のため大文字・小文字はそのまま)
+    private final Map<String, Boolean> existing = new HashMap<>();
+    // 登録された社員番号 (バッチINSERTごと)
+    private final List<List<Object>> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        doAnswer(invocation -> {
+            SqlParameterSource params = invocation.getArgument(1);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Object code : (Collection<?>) params.getValue("codes")) {
+                for (Map.Entry<String, Boolean> entry : existing.entrySet()) {
+                    if (entry.getKey().equalsIgnoreCase((String) code)) {
+                        handler.processRow(row(entry.getKey(), entry.getValue()));
+                    }
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+        doAnswer(this::recordInsert).when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        doAnswer(invocation -> {
+            inserted.add(List.of(invocation.<SqlParameterSource>getArgument(1).getValue("code")));
+            return 1;
+        }).when(jdbcTemplate).update(anyString(), any(SqlParameterSource.class));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        passwordEncoder = mock(BoundedPasswordEncoder.class);
+        when(passwordEncoder.getPoolSize()).thenReturn(2);
+        when(passwordEncoder.submitEncode(any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture("{hashed}" + invocation.getArgument(0)));
+        when(passwordEncoder.await(any())).thenAnswer(invocation -> invocation.<Future<?>>getArgument(0).get());
+
+        auditLog = mock(AuditLog.class);
+        service = new EmployeeImportService(jdbcTemplate, transactionTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), passwordEncoder, mock(UserDetailCache.class),
+                mock(ReportSubmissionIndex.class), auditLog, 500);
+    }
+
+    private int[] recordInsert(InvocationOnMock invocation) {
+        List<Object> codes = new ArrayList<>();
+        for (MapSqlParameterSource params : (MapSqlParameterSource[]) invocation.getArgument(1)) {
+            codes.add(params.getValue("code"));
+        }
+        inserted.add(codes);
+        return new int[codes.size()];
+    }
+
+    private static ResultSet row(String code, boolean deleted) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(code);
+        when(rs.getBoolean(2)).thenReturn(deleted);
+        return rs;
+    }
+
+    private EmployeeImportResult importCsv(String... lines) throws IOException {
+        String csv = "code,name,role,password\n" + String.join("\n", lines) + "\n";
+        return service.importEmployees(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // 行番号 → 結果
+    private static Map<Integer, ErrorKinds> results(EmployeeImportResult result) {
+        Map<Integer, ErrorKinds> results = new LinkedHashMap<>();
+        for (EmployeeImportResult.Row row : result.getRows()) {
+            results.put(row.getLineNumber(), row.getResult());
+        }
+        return results;
+    }
+
+    // ファイル内・登録済み (論理削除済みを含む) の重複、入力チェックのエラーを行ごとに返し、残りの行を登録すること
+    @Test
+    void reportsErrorsPerRow() throws IOException {
+        existing.put("2", false);
+        existing.put("9", true);
+
+        EmployeeImportResult result = importCsv(
+                "10,山田　一郎,一般,password1",
+                "11,鈴木　二郎,ADMIN,password2",
+                "10,山田　三郎,GENERAL,password3",
+                "A1,大文字,GENERAL,password4",
+                "a1,小文字,GENERAL,password5",
+                "2,登録済み,GENERAL,password6",
+                "9,削除済み,GENERAL,password7",
+                "12,権限不明,社長,password8",
+                "13,短い,GENERAL,short",
+                "14,列不足");
+
+        Map<Integer, ErrorKinds> expected = new LinkedHashMap<>();
+        expected.put(2, ErrorKinds.SUCCESS);
+        expected.put(3, ErrorKinds.SUCCESS);
+        expected.put(4, ErrorKinds.DUPLICATE_ERROR);
+        expected.put(5, ErrorKinds.SUCCESS);
+        expected.put(6, ErrorKinds.DUPLICATE_ERROR); // 大文字・小文字のみ異なる社員番号も重複
+        expected.put(7, ErrorKinds.DUPLICATE_ERROR);
+        expected.put(8, ErrorKinds.DUPLICATE_EXCEPTION_ERROR);
+        expected.put(9, ErrorKinds.FORMAT_ERROR);
+        expected.put(10, ErrorKinds.RANGECHECK_ERROR);
+        expected.put(11, ErrorKinds.FORMAT_ERROR);
+        assertEquals(expected, results(result));
+        assertEquals(3, result.getImportedCount());
+        assertEquals(7, result.getErrorCount());
+        assertEquals(List.of(List.of("10", "11", "A1")), inserted);
+    }
+
+    // 重複確認の後に他の操作で登録された社員番号は、確認し直して除外し、残りを1行ずつ登録すること
+    @Test
+    void retriesRowByRowWithoutConcurrentlyInsertedCodes() throws IOException {
+        doAnswer(invocation -> {
+            existing.put("21", false);
+            throw new DuplicateKeyException("Duplicate entry '21'");
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+
+        EmployeeImportResult result = importCsv("20,佐藤　花子,GENERAL,password1", "21,高橋　次郎,GENERAL,password2",
+                "22,小林　三郎,GENERAL,password3");
+
+        assertEquals(Map.of(2, ErrorKinds.SUCCESS, 3, ErrorKinds.DUPLICATE_ERROR, 4, ErrorKinds.SUCCESS),
+                results(result));
+        assertEquals(List.of(List.of("20"), List.of("22")), inserted);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        verify(jdbcTemplate, times(2)).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    // 確認し直しても見つからない行 (未コミットの登録等) が一意制約に違反した場合は、その行のみエラーとすること
+    @Test
+    void reportsRowsRejectedByUniqueKeyOnRetry() throws IOException {
+        doAnswer(invocation -> {
+            throw new DuplicateKeyException("Duplicate entry '31'");
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        doAnswer(invocation -> {
+            throw new DuplicateKeyException("Duplicate entry '31'");
+        }).when(jdbcTemplate).update(anyString(),
+                argThat((SqlParameterSource params) -> "31".equals(params.getValue("code"))));
+
+        EmployeeImportResult result = importCsv("30,佐藤　花子,GENERAL,password1", "31,高橋　次郎,GENERAL,password2",
+                "32,小林　三郎,GENERAL,password3");
+
+        assertEquals(Map.of(2, ErrorKinds.SUCCESS, 3, ErrorKinds.DUPLICATE_ERROR, 4, ErrorKinds.SUCCESS),
+                results(result));
+        assertEquals(1, result.getErrorCount());
+        assertEquals(List.of(List.of("30"), List.of("32")), inserted);
+        verify(auditLog, never()).record(any(), any(), eq("31"), any());
+        verify(auditLog).record(any(), any(), eq("32"), any());
+    }
+
+    // ハッシュ化を受け付けられなかった行 (待ち行列が一杯・タイムアウト) はエラーとし、残りの行は登録すること
+    @Test
+    void reportsRejectedHashingPerRow() throws IOException {
+        doThrow(new PasswordHashingRejectedException("パスワード処理が混雑しています")).when(passwordEncoder)
+                .submitEncode(eq("password2"));
+        Future<String> timedOut = new CompletableFuture<>();
+        doReturn(timedOut).when(passwordEncoder).submitEncode(eq("password3"));
+        doThrow(new PasswordHashingRejectedException("パスワード処理がタイムアウトしました")).when(passwordEncoder)
+                .await(timedOut);
+
+        EmployeeImportResult result = importCsv("30,伊藤,GENERAL,password1", "31,渡辺,GENERAL,password2",
+                "32,山本,GENERAL,password3", "33,中村,GENERAL,password4");
+
+        assertEquals(Map.of(2, ErrorKinds.SUCCESS, 3, ErrorKinds.PASSWORD_BUSY_ERROR, 4,
+                ErrorKinds.PASSWORD_BUSY_ERROR, 5, ErrorKinds.SUCCESS), results(result));
+        assertEquals(List.of(List.of("30", "33")), inserted);
+    }
+}
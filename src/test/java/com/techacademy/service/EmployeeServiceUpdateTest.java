@@ -0,0 +1,65 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techacademy.constants.ErrorKinds;
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Employee.Role;
+import com.techacademy.repository.EmployeeRepository;
+
+// 従業員更新の楽観的排他制御 (DBを使わずに確認する。一覧・取得は EmployeeServiceTest)
+class EmployeeServiceUpdateTest {
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        service = new EmployeeService(employeeRepository, mock(PasswordEncoder.class), mock(ReportService.class),
+                mock(UserDetailCache.class), mock(ReportSearchIndex.class), mock(ReportSubmissionIndex.class),
+                mock(AuditLog.class), mock(TransactionTemplate.class));
+    }
+
+    private static Employee employee(int version) {
+        Employee employee = new Employee();
+        employee.setCode("2");
+        employee.setName("田中　太郎");
+        employee.setRole(Role.GENERAL);
+        employee.setVersion(version);
+        return employee;
+    }
+
+    @Test
+    void rejectsUpdateOfStaleVersion() {
+        when(employeeRepository.findById("2")).thenReturn(Optional.of(employee(4)));
+
+        // 編集画面を開いた後に他のユーザーが更新した場合 (画面の版数が古い)
+        assertEquals(ErrorKinds.OPTIMISTIC_LOCK_ERROR, service.updateEmployee(employee(3)));
+        verify(employeeRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updatesCurrentVersion() {
+        Employee current = employee(4);
+        when(employeeRepository.findById("2")).thenReturn(Optional.of(current));
+
+        Employee updated = employee(4);
+        updated.setName("田中　次郎");
+        assertEquals(ErrorKinds.SUCCESS, service.updateEmployee(updated));
+        assertEquals("田中　次郎", current.getName());
+        verify(employeeRepository).saveAndFlush(current);
+    }
+}
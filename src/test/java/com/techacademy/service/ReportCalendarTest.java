@@ -0,0 +1,45 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.techacademy.dto.ReportCalendarEntry;
+
+class ReportCalendarTest {
+
+    @Test
+    void marksReportedDays() {
+        YearMonth month = YearMonth.of(2025, 3);
+        ReportCalendar calendar = new ReportCalendar("E000001", month,
+                List.of(new ReportCalendarEntry(1L, month.atDay(1), "初日"),
+                        new ReportCalendarEntry(2L, month.atDay(31), "月末")));
+
+        assertEquals(1 | 1 << 30, calendar.getDays());
+        assertEquals(2, calendar.getReportCount());
+        assertTrue(calendar.hasReport(31));
+        assertFalse(calendar.hasReport(2));
+        assertEquals("月末", calendar.getEntry(31).getTitle());
+        assertNull(calendar.getEntry(2));
+    }
+
+    @Test
+    void splitsMonthIntoSundayFirstWeeks() {
+        // 2025年3月1日は土曜日
+        List<List<LocalDate>> weeks = new ReportCalendar("E000001", YearMonth.of(2025, 3), List.of()).getWeeks();
+
+        assertEquals(6, weeks.size());
+        assertNull(weeks.get(0).get(5));
+        assertEquals(LocalDate.of(2025, 3, 1), weeks.get(0).get(6));
+        assertEquals(LocalDate.of(2025, 3, 31), weeks.get(5).get(1));
+        assertNull(weeks.get(5).get(6));
+        weeks.forEach(week -> assertEquals(7, week.size()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Report;
+import com.techacademy.repository.ReportRepository;
+
+import jakarta.persistence.EntityManager;
+
+class ReportExportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 4, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 4, 30);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 4, 1, 18, 0);
+
+    private ReportRepository reportRepository;
+    private EntityManager entityManager;
+    private ReportExportService service;
+
+    // 出力した日報のストリームが閉じられたか (DBのカーソルを解放すること)
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(ReportRepository.class);
+        entityManager = mock(EntityManager.class);
+        service = new ReportExportService(reportRepository, entityManager, new ObjectMapper());
+    }
+
+    private static Report report(long id, String title, String content) {
+        Employee employee = new Employee();
+        employee.setCode("2");
+        employee.setName("田中　太郎");
+        Report report = new Report();
+        report.setId(id);
+        report.setEmployee(employee);
+        report.setReportDate(LocalDate.of(2025, 4, (int) id));
+        report.setTitle(title);
+        report.setContent(content);
+        report.setCreatedAt(CREATED_AT);
+        report.setUpdatedAt(CREATED_AT);
+        return report;
+    }
+
+    private String export(String format, Report... reports) throws IOException {
+        when(reportRepository.streamForExport(FROM, TO, "2"))
+                .thenReturn(Stream.of(reports).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.export(FROM, TO, "2", format, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    // ヘッダー行の後に日報1件につき1行 (CRLF区切り) を出力し、カンマ・改行・ダブルクォートを含む項目はクォートで囲むこと
+    @Test
+    void writesCsv() throws IOException {
+        Report plain = report(1, "日報", "内容");
+        Report quoted = report(2, "カンマ, を含む", "1行目\r\n\"引用\"を含む");
+        Report empty = report(3, "日報", null);
+
+        String csv = export(ReportExportService.FORMAT_CSV, plain, quoted, empty);
+
+        assertTrue(csv.startsWith("id,employee_code,employee_name,report_date,title,content,created_at,updated_at\r\n"
+                + "1,2,田中　太郎,2025-04-01,日報,内容,2025-04-01T18:00,2025-04-01T18:00\r\n"
+                + "2,2,田中　太郎,2025-04-02,\"カンマ, を含む\",\"1行目\r\n\"\"引用\"\"を含む\",2025-04-01T18:00,"), csv);
+
+        // 取込と同じCSVの読み込みで、ヘッダー + 3行に戻ること
+        CsvReader reader = new CsvReader(new BufferedReader(new StringReader(csv)));
+        assertEquals(8, reader.readRecord().size());
+        assertEquals(List.of("1", "2", "田中　太郎", "2025-04-01", "日報", "内容", "2025-04-01T18:00", "2025-04-01T18:00"),
+                reader.readRecord());
+        assertEquals(List.of("2", "2", "田中　太郎", "2025-04-02", "カンマ, を含む", "1行目\r\n\"引用\"を含む",
+                "2025-04-01T18:00", "2025-04-01T18:00"), reader.readRecord());
+        assertEquals("", reader.readRecord().get(5));
+        assertNull(reader.readRecord());
+
+        // 書き出した日報は1件ずつ永続化コンテキストから外す
+        verify(entityManager).detach(plain);
+        verify(entityManager).detach(quoted);
+        verify(entityManager).detach(empty);
+        assertTrue(closed.get());
+    }
+
+    // 該当する日報がない場合はヘッダー行のみ出力すること
+    @Test
+    void writesHeaderOnlyWhenEmpty() throws IOException {
+        assertEquals("id,employee_code,employee_name,report_date,title,content,created_at,updated_at\r\n",
+                export(ReportExportService.FORMAT_CSV));
+        assertTrue(closed.get());
+    }
+
+    // NDJSON は日報1件につき1行のJSONを出力すること
+    @Test
+    void writesNdjson() throws IOException {
+        String ndjson = export(ReportExportService.FORMAT_NDJSON, report(1, "日報", "内容"),
+                report(2, "\"引用\"", "1行目\n2行目"));
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"employeeCode\":\"2\",\"employeeName\":\"田中　太郎\",\"reportDate\":\"2025-04-01\","
+                + "\"title\":\"日報\",\"content\":\"内容\",\"createdAt\":\"2025-04-01T18:00\",\"updatedAt\":\"2025-04-01T18:00\"}",
+                lines[0]);
+        assertEquals("\"引用\"", new ObjectMapper().readTree(lines[1]).get("title").asText());
+        assertEquals("1行目\n2行目", new ObjectMapper().readTree(lines[1]).get("content").asText());
+        assertTrue(closed.get());
+    }
+}
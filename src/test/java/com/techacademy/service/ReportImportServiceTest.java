@@ -0,0 +1,232 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techacademy.dto.EmployeeSummary;
+import com.techacademy.entity.Employee.Role;
+import com.techacademy.repository.EmployeeRepository;
+
+import jakarta.validation.Validation;
+
+class ReportImportServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ReportSearchIndex reportSearchIndex;
+    private ReportImportService service;
+
+    // 登録済みの日報 (社員番号|日付)
+    private final Set<String> existing = new HashSet<>();
+    // 登録されたタイトル (バッチINSERTごと)
+    private final List<List<Object>> inserted = new ArrayList<>();
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        doAnswer(invocation -> {
+            SqlParameterSource params = invocation.getArgument(1);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Object code : (Collection<?>) params.getValue("employeeCodes")) {
+                for (Object date : (Collection<?>) params.getValue("reportDates")) {
+                    if (existing.contains(code + "|" + date)) {
+                        handler.processRow(row((String) code, (LocalDate) date));
+                    }
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+        doAnswer(this::recordBatchInsert).when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class),
+                any(KeyHolder.class), any(String[].class));
+        doAnswer(this::recordInsert).when(jdbcTemplate).update(anyString(), any(SqlParameterSource.class),
+                any(KeyHolder.class), any(String[].class));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        when(employeeRepository.findAllSummaries()).thenReturn(List.of(new EmployeeSummary("1", "管理者　太郎", Role.ADMIN),
+                new EmployeeSummary("2", "田中　太郎", Role.GENERAL)));
+
+        reportSearchIndex = mock(ReportSearchIndex.class);
+        service = new ReportImportService(jdbcTemplate, transactionTemplate, employeeRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), reportSearchIndex,
+                mock(ReportStatisticsStore.class), mock(ReportSubmissionIndex.class), BATCH_SIZE);
+    }
+
+    private int[] recordBatchInsert(InvocationOnMock invocation) {
+        List<Object> titles = new ArrayList<>();
+        KeyHolder keyHolder = invocation.getArgument(2);
+        for (SqlParameterSource params : (SqlParameterSource[]) invocation.getArgument(1)) {
+            titles.add(store(params, keyHolder));
+        }
+        inserted.add(titles);
+        return new int[titles.size()];
+    }
+
+    private int recordInsert(InvocationOnMock invocation) {
+        inserted.add(List.of(store(invocation.getArgument(1), invocation.getArgument(2))));
+        return 1;
+    }
+
+    // 登録した日報を登録済みとし、採番したIDを返す
+    private Object store(SqlParameterSource params, KeyHolder keyHolder) {
+        existing.add(params.getValue("employeeCode") + "|" + ((Date) params.getValue("reportDate")).toLocalDate());
+        keyHolder.getKeyList().add(Map.of("id", nextId++));
+        return params.getValue("title");
+    }
+
+    private static ResultSet row(String employeeCode, LocalDate reportDate) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(employeeCode);
+        when(rs.getDate(2)).thenReturn(Date.valueOf(reportDate));
+        return rs;
+    }
+
+    private ReportImportResult importCsv(String... lines) throws IOException {
+        String csv = "employee_code,report_date,title,content\n" + String.join("\n", lines) + "\n";
+        return service.importReports(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                ReportImportService.FORMAT_CSV);
+    }
+
+    // 行番号 → エラー内容
+    private static Map<Integer, String> errors(ReportImportResult result) {
+        Map<Integer, String> errors = new LinkedHashMap<>();
+        for (String error : result.getErrors()) {
+            String[] parts = error.split("行目: ", 2);
+            errors.put(Integer.parseInt(parts[0]), parts[1]);
+        }
+        return errors;
+    }
+
+    // バッチ件数ごとにINSERTし、端数の行はファイルの最後で登録すること
+    @Test
+    void insertsInBatches() throws IOException {
+        ReportImportResult result = importCsv("2,2025-04-01,日報1,内容", "2,2025-04-02,日報2,内容",
+                "2,2025-04-03,日報3,内容", "1,2025-04-01,日報4,内容", "1,2025-04-02,日報5,内容");
+
+        assertEquals(5, result.getImportedCount());
+        assertEquals(0, result.getErrorCount());
+        assertEquals(List.of(List.of("日報1", "日報2"), List.of("日報3", "日報4"), List.of("日報5")), inserted);
+        verify(reportSearchIndex).index(eq(5L), eq("1"), eq("管理者　太郎"), eq(LocalDate.of(2025, 4, 2)), eq("日報5"),
+                eq("内容"));
+        verify(reportSearchIndex, times(5)).index(anyLong(), anyString(), anyString(), any(), anyString(),
+                anyString());
+    }
+
+    // ファイル内の重複は、同じバッチ内はキーで、前のバッチとの重複は登録済みの日報として検出すること
+    @Test
+    void reportsDuplicatesWithinFile() throws IOException {
+        existing.add("1|2025-04-10");
+
+        ReportImportResult result = importCsv("2,2025-04-01,日報1,内容", "2,2025-04-01,同じバッチ,内容",
+                "2,2025-04-02,日報2,内容", "2,2025-04-01,前のバッチ,内容", "1,2025-04-10,登録済み,内容");
+
+        assertEquals(Map.of(3, "既に登録されている日付です", 5, "既に登録されている日付です", 6, "既に登録されている日付です"),
+                errors(result));
+        assertEquals(2, result.getImportedCount());
+        assertEquals(List.of(List.of("日報1", "日報2")), inserted);
+    }
+
+    // 重複確認の後に他の操作で登録された日報は、1行ずつ登録し直して該当する行のみエラーとすること
+    @Test
+    void retriesRowByRowAfterDuplicateKey() throws IOException {
+        doAnswer(invocation -> {
+            throw new DuplicateKeyException("Duplicate entry '2-2025-04-02'");
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class), any(KeyHolder.class),
+                any(String[].class));
+        doAnswer(invocation -> {
+            SqlParameterSource params = invocation.getArgument(1);
+            if ("競合".equals(params.getValue("title"))) {
+                throw new DuplicateKeyException("Duplicate entry '2-2025-04-02'");
+            }
+            return recordInsert(invocation);
+        }).when(jdbcTemplate).update(anyString(), any(SqlParameterSource.class), any(KeyHolder.class),
+                any(String[].class));
+
+        ReportImportResult result = importCsv("2,2025-04-01,日報1,内容", "2,2025-04-02,競合,内容");
+
+        assertEquals(Map.of(3, "既に登録されている日付です"), errors(result));
+        assertEquals(1, result.getImportedCount());
+        assertEquals(List.of(List.of("日報1")), inserted);
+        verify(jdbcTemplate, times(2)).update(anyString(), any(SqlParameterSource.class), any(KeyHolder.class),
+                any(String[].class));
+        verify(reportSearchIndex).index(eq(1L), eq("2"), anyString(), eq(LocalDate.of(2025, 4, 1)), eq("日報1"),
+                anyString());
+        verify(reportSearchIndex, never()).index(anyLong(), anyString(), anyString(), any(), eq("競合"), anyString());
+    }
+
+    // 入力チェックのエラーは行ごとに返し、残りの行を登録すること
+    @Test
+    void reportsValidationErrorsPerRow() throws IOException {
+        ReportImportResult result = importCsv("2,2025-04-01,日報1,内容", "2,2025-04-02,列不足",
+                "2,2025/04/03,日付形式,内容", "2,2025-04-04,,内容", "2,2025-04-05," + "あ".repeat(101) + ",内容",
+                "9,2025-04-06,社員番号なし,内容", "2,,日付なし,内容", "\"2\",\"2025-04-07\",\"カンマ, を含む\",\"内容\"");
+
+        Map<Integer, String> errors = errors(result);
+        assertEquals(List.of(3, 4, 5, 6, 7, 8), new ArrayList<>(errors.keySet()));
+        assertEquals("列数が正しくありません", errors.get(3));
+        assertEquals("日付の形式が正しくありません", errors.get(4));
+        assertTrue(errors.get(5).startsWith("title: "), errors.get(5));
+        assertEquals("title: 100文字以下で入力してください", errors.get(6));
+        assertEquals("社員番号が存在しません", errors.get(7));
+        assertTrue(errors.get(8).startsWith("reportDate: "), errors.get(8));
+        assertEquals(2, result.getImportedCount());
+        assertEquals(6, result.getErrorCount());
+        assertEquals(List.of(List.of("日報1", "カンマ, を含む")), inserted);
+    }
+
+    // JSON Lines の形式エラーも行ごとに返すこと
+    @Test
+    void reportsMalformedJsonPerLine() throws IOException {
+        String jsonl = "{\"employeeCode\":\"2\",\"reportDate\":\"2025-04-01\",\"title\":\"日報1\",\"content\":\"内容\"}\n"
+                + "{\"employeeCode\":\"2\",\n" + "\n"
+                + "{\"employeeCode\":\"2\",\"reportDate\":\"2025-04-02\",\"title\":\"日報2\",\"content\":\"内容\"}\n";
+
+        ReportImportResult result = service.importReports(
+                new ByteArrayInputStream(jsonl.getBytes(StandardCharsets.UTF_8)), ReportImportService.FORMAT_JSONL);
+
+        assertEquals(Map.of(2, "JSONの形式が正しくありません"), errors(result));
+        assertEquals(List.of(List.of("日報1", "日報2")), inserted);
+    }
+}
@@ -0,0 +1,28 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ReportPartitionMaintainerTest {
+
+    @Test
+    void definesMonthlyPartitionsAndCatchAll() {
+        assertEquals("PARTITION p202411 VALUES LESS THAN ('2024-12-01'), "
+                + "PARTITION p202412 VALUES LESS THAN ('2025-01-01'), "
+                + "PARTITION p202501 VALUES LESS THAN ('2025-02-01'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE)",
+                ReportPartitionMaintainer.definitions(YearMonth.of(2024, 11), YearMonth.of(2025, 1)));
+    }
+
+    @Test
+    void findsLatestMonthlyPartition() {
+        assertEquals(YearMonth.of(2025, 2),
+                ReportPartitionMaintainer.lastMonth(List.of("p202412", "p202501", "p202502", "pmax")));
+        assertNull(ReportPartitionMaintainer.lastMonth(List.of("pmax")));
+    }
+}
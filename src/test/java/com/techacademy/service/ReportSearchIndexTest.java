@@ -0,0 +1,69 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Report;
+
+class ReportSearchIndexTest {
+
+    private Report report(Long id, String employeeCode, String employeeName, String title, String content) {
+        Employee employee = new Employee();
+        employee.setCode(employeeCode);
+        employee.setName(employeeName);
+        Report report = new Report();
+        report.setId(id);
+        report.setEmployee(employee);
+        report.setReportDate(LocalDate.of(2025, 4, 1).plusDays(id));
+        report.setTitle(title);
+        report.setContent(content);
+        return report;
+    }
+
+    // 2-gramへの分割 (全角英数字は半角・小文字に正規化し、記号・空白で区切る)
+    @Test
+    void testGrams() {
+        assertEquals(List.of("日報", "報告", "ab", "c"), ReportSearchIndex.grams("日報告　ＡＢ、c"));
+    }
+
+    // キーワードを含む日報のみが、タイトルに含むものを優先して返ること
+    @Test
+    void testSearch() {
+        ReportSearchIndex index = new ReportSearchIndex(null, null, null, true);
+        index.index(report(1L, "1", "煌木　太郎", "定例会議", "進捗を共有した"));
+        index.index(report(2L, "2", "田中　太郎", "顧客訪問", "会議の準備をした"));
+        index.index(report(3L, "2", "田中　太郎", "資料作成", "見積書を作成した"));
+
+        ReportSearchResult result = index.search("会議", null, 0);
+        assertEquals(2, result.getTotalCount());
+        assertEquals(1L, result.getReports().get(0).getId());
+        assertEquals("煌木　太郎", result.getReports().get(0).getEmployeeName());
+        assertEquals(2L, result.getReports().get(1).getId());
+
+        // 一般ユーザーは自身の日報のみ
+        ReportSearchResult own = index.search("会議", "2", 0);
+        assertEquals(1, own.getTotalCount());
+        assertEquals(2L, own.getReports().get(0).getId());
+    }
+
+    // 更新・削除が検索結果に反映されること
+    @Test
+    void testUpdateAndDelete() {
+        ReportSearchIndex index = new ReportSearchIndex(null, null, null, true);
+        index.index(report(1L, "1", "煌木　太郎", "定例会議", "進捗を共有した"));
+        index.index(report(1L, "1", "煌木　太郎", "顧客訪問", "見積書を提出した"));
+
+        assertEquals(0, index.search("会議", null, 0).getTotalCount());
+        assertEquals(1, index.search("見積", null, 0).getTotalCount());
+
+        index.delete(1L);
+        assertEquals(0, index.search("見積", null, 0).getTotalCount());
+        assertEquals(0, index.size());
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.techacademy.dto.ReportSummary;
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Employee.Role;
+import com.techacademy.entity.Report;
+import com.techacademy.repository.EmployeeRepository;
+import com.techacademy.repository.ReportRepository;
+
+// 日報一覧のキーセットページング (H2 の MySQL 互換モードで実際のクエリを実行する)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:paging;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver", "spring.datasource.username=sa",
+        "spring.datasource.password=", "spring.sql.init.mode=never", "spring.jpa.show-sql=false" })
+class ReportServicePagingTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ReportRepository reportRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ReportService service;
+    private LocalDate hotWindowStart;
+
+    // 日付の降順・同じ日付はIDの降順 (一覧の表示順)
+    private final List<Report> reports = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new ReportService(reportRepository, employeeRepository, mock(ReportSearchIndex.class),
+                mock(ReportStatisticsStore.class), mock(ReportSubmissionIndex.class), mock(AuditLog.class),
+                mock(ReportRevisionService.class), transactionManager, 3);
+        hotWindowStart = service.hotWindowStart();
+
+        Employee admin = employee("1", Role.ADMIN);
+        Employee general = employee("2", Role.GENERAL);
+        Employee other = employee("3", Role.GENERAL);
+
+        // IDの順と日付の順が一致しないように登録する
+        report(general, hotWindowStart.minusDays(1)); // 直近の月より前 (過去の月を含める場合のみ)
+        report(general, hotWindowStart); // 直近の月の初日 (境界)
+        report(other, hotWindowStart.plusDays(10));
+        report(admin, hotWindowStart.plusDays(5));
+        report(general, hotWindowStart.plusDays(10));
+        report(admin, hotWindowStart.plusDays(10));
+        report(general, hotWindowStart.plusDays(5));
+        entityManager.flush();
+        reports.sort((a, b) -> a.getReportDate().equals(b.getReportDate()) ? b.getId().compareTo(a.getId())
+                : b.getReportDate().compareTo(a.getReportDate()));
+    }
+
+    private Employee employee(String code, Role role) {
+        Employee employee = new Employee();
+        employee.setCode(code);
+        employee.setName("従業員" + code);
+        employee.setRole(role);
+        employee.setPassword("{noop}password");
+        employee.setCreatedAt(LocalDateTime.now());
+        employee.setUpdatedAt(LocalDateTime.now());
+        return entityManager.persist(employee);
+    }
+
+    private void report(Employee employee, LocalDate reportDate) {
+        Report report = new Report();
+        report.setEmployee(employee);
+        report.setReportDate(reportDate);
+        report.setTitle("日報 " + reportDate);
+        report.setContent("内容");
+        report.setCreatedAt(LocalDateTime.now());
+        report.setUpdatedAt(LocalDateTime.now());
+        reports.add(entityManager.persist(report));
+    }
+
+    private static List<Long> ids(List<?> rows) {
+        List<Long> ids = new ArrayList<>();
+        for (Object row : rows) {
+            ids.add(row instanceof Report report ? report.getId() : ((ReportSummary) row).getId());
+        }
+        return ids;
+    }
+
+    // 直近の月の日報 (過去の月を含めない場合の一覧)
+    private List<Report> hot(String employeeCode) {
+        return reports.stream().filter(report -> !report.getReportDate().isBefore(hotWindowStart))
+                .filter(report -> employeeCode == null || report.getEmployee().getCode().equals(employeeCode))
+                .toList();
+    }
+
+    private ReportPage page(String employeeCode, String after, String before) {
+        return service.findReportPageByUserRole(employeeCode, after, before, false, PAGE_SIZE);
+    }
+
+    // 次ページのカーソルで最後まで辿ると、同じ日付の日報もIDの降順で重複・欠落なく1回ずつ表示される
+    @Test
+    void pagesForwardWithTiesBrokenById() {
+        List<Report> expected = hot(null);
+
+        ReportPage first = page("1", null, null);
+        assertEquals(ids(expected.subList(0, 2)), ids(first.getReports()));
+        assertNull(first.getPrevCursor());
+        assertNotNull(first.getNextCursor());
+
+        ReportPage second = page("1", first.getNextCursor(), null);
+        assertEquals(ids(expected.subList(2, 4)), ids(second.getReports()));
+        assertNotNull(second.getPrevCursor());
+
+        ReportPage third = page("1", second.getNextCursor(), null);
+        assertEquals(ids(expected.subList(4, 6)), ids(third.getReports()));
+        assertNull(third.getNextCursor());
+        assertEquals(6, third.getTotalCount());
+    }
+
+    // 前ページのカーソルは昇順で取得した結果を表示順 (降順) に戻し、先頭まで戻ると前ページのカーソルはない
+    @Test
+    void pagesBackwardInDisplayOrder() {
+        List<Report> expected = hot(null);
+        ReportPage second = page("1", page("1", null, null).getNextCursor(), null);
+        ReportPage third = page("1", second.getNextCursor(), null);
+
+        ReportPage backToSecond = page("1", null, third.getPrevCursor());
+        assertEquals(ids(expected.subList(2, 4)), ids(backToSecond.getReports()));
+        assertNotNull(backToSecond.getPrevCursor());
+        assertEquals(third.getPrevCursor(), ReportPage.toCursor(expected.get(4).getReportDate(),
+                expected.get(4).getId()));
+        assertEquals(backToSecond.getNextCursor(), second.getNextCursor());
+
+        ReportPage backToFirst = page("1", null, backToSecond.getPrevCursor());
+        assertEquals(ids(expected.subList(0, 2)), ids(backToFirst.getReports()));
+        assertNull(backToFirst.getPrevCursor());
+        assertNotNull(backToFirst.getNextCursor());
+    }
+
+    // 一般ユーザーは自身の日報のみ (同じ日付の他の従業員の日報はカーソルの位置にかかわらず含まない)
+    @Test
+    void pagesOwnReportsOnly() {
+        List<Report> expected = hot("2");
+
+        ReportPage first = page("2", null, null);
+        assertEquals(ids(expected.subList(0, 2)), ids(first.getReports()));
+        ReportPage second = page("2", first.getNextCursor(), null);
+        assertEquals(ids(expected.subList(2, 3)), ids(second.getReports()));
+        assertNull(second.getNextCursor());
+        assertEquals(3, second.getTotalCount());
+    }
+
+    // 不正・改ざんされたカーソルは無視して先頭ページを返す
+    @Test
+    void ignoresMalformedCursor() {
+        List<Long> first = ids(page("1", null, null).getReports());
+        for (String cursor : new String[] { "", "garbage", "2025-13-01_5", "2025-01-01_abc", "2025-01-01",
+                "_12", "2025-01-01_1_2" }) {
+            assertEquals(first, ids(page("1", cursor, null).getReports()), cursor);
+            assertEquals(first, ids(page("1", null, cursor).getReports()), cursor);
+        }
+        assertNull(ReportPage.cursorDate("2025-01-01;DROP TABLE reports_1"));
+        assertNull(ReportPage.cursorId("2025-01-01_1 OR 1=1"));
+    }
+
+    // 直近の月の初日の日報は含み、それより前の日報は過去の月を含める場合のみ表示する
+    @Test
+    void limitsToHotWindowUnlessArchivedIncluded() {
+        ReportPage hot = service.findReportPageByUserRole("2", null, null, false, 10);
+        assertEquals(ids(hot("2")), ids(hot.getReports()));
+        assertEquals(hotWindowStart, hot.getReports().get(hot.getReports().size() - 1).getReportDate());
+
+        ReportPage all = service.findReportPageByUserRole("2", null, null, true, 10);
+        assertEquals(4, all.getReports().size());
+        assertEquals(hotWindowStart.minusDays(1), all.getReports().get(3).getReportDate());
+        assertEquals(4, all.getTotalCount());
+    }
+}
@@ -0,0 +1,133 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Employee.Role;
+import com.techacademy.entity.Report;
+import com.techacademy.repository.EmployeeRepository;
+import com.techacademy.repository.ReportRepository;
+
+class ReportServiceTest {
+
+    private ReportRepository reportRepository;
+    private EmployeeRepository employeeRepository;
+    private ReportSearchIndex reportSearchIndex;
+    private ReportService service;
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(ReportRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        reportSearchIndex = mock(ReportSearchIndex.class);
+        service = new ReportService(reportRepository, employeeRepository, reportSearchIndex,
+                mock(ReportStatisticsStore.class), mock(ReportSubmissionIndex.class), mock(AuditLog.class),
+                mock(ReportRevisionService.class), mock(PlatformTransactionManager.class), 3);
+    }
+
+    private static Report report(int version) {
+        Employee employee = new Employee();
+        employee.setCode("2");
+        Report report = new Report();
+        report.setId(10L);
+        report.setEmployee(employee);
+        report.setReportDate(LocalDate.of(2025, 1, 6));
+        report.setTitle("タイトル");
+        report.setContent("内容");
+        report.setVersion(version);
+        report.setCreatedAt(LocalDateTime.of(2025, 1, 6, 18, 0));
+        return report;
+    }
+
+    @Test
+    void rejectsUpdateOfStaleVersion() {
+        when(reportRepository.findById(10L)).thenReturn(Optional.of(report(2)));
+
+        // 編集画面を開いた後に他のユーザーが更新した場合 (画面の版数が古い)
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.updateReport(10L, report(1)));
+        verify(reportRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updatesCurrentVersion() {
+        Report current = report(2);
+        when(reportRepository.findById(10L)).thenReturn(Optional.of(current));
+        when(reportRepository.saveAndFlush(current)).thenReturn(current);
+
+        Report updated = report(2);
+        updated.setTitle("変更後");
+        assertSame(current, service.updateReport(10L, updated).orElseThrow());
+        verify(reportRepository).saveAndFlush(current);
+    }
+
+    // 条件付きGETの最終更新日時: 一般ユーザーは自身の日報のみ対象とし、管理者は全従業員の日報が対象
+    @Test
+    void scopesLastModifiedByRole() {
+        Employee general = new Employee();
+        general.setCode("2");
+        general.setRole(Role.GENERAL);
+        Employee admin = new Employee();
+        admin.setCode("1");
+        admin.setRole(Role.ADMIN);
+        when(employeeRepository.findByCode("2")).thenReturn(general);
+        when(employeeRepository.findByCode("1")).thenReturn(admin);
+
+        service.findLastModifiedByUserRole("2", 10L);
+        verify(reportRepository).findLastModifiedById(10L, "2");
+        service.findLastModifiedByUserRole("1", 10L);
+        verify(reportRepository).findLastModifiedById(10L, null);
+    }
+
+    // 一時的な失敗 (ロック待ちのタイムアウト等) のチャンクは再試行し、全件の削除件数を返す
+    @Test
+    void retriesTransientChunkFailure() {
+        when(reportRepository.softDeleteByEmployeeCode(eq("2"), any(), eq(ReportService.BULK_DELETE_CHUNK_SIZE)))
+                .thenReturn(ReportService.BULK_DELETE_CHUNK_SIZE)
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"))
+                .thenReturn(3);
+
+        assertEquals(ReportService.BULK_DELETE_CHUNK_SIZE + 3, service.deleteByEmployeeCode("2"));
+        verify(reportRepository, times(3)).softDeleteByEmployeeCode(eq("2"), any(),
+                eq(ReportService.BULK_DELETE_CHUNK_SIZE));
+        verify(reportSearchIndex).deleteByEmployeeCode("2");
+    }
+
+    // 再試行しても失敗する場合・一時的でない失敗は例外を送出する (削除済みのチャンクは索引にも反映する)
+    @Test
+    void failsAfterRetriesExhausted() {
+        when(reportRepository.softDeleteByEmployeeCode(eq("2"), any(), eq(ReportService.BULK_DELETE_CHUNK_SIZE)))
+                .thenReturn(ReportService.BULK_DELETE_CHUNK_SIZE)
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"));
+
+        assertThrows(CannotAcquireLockException.class, () -> service.deleteByEmployeeCode("2"));
+        verify(reportRepository, times(1 + ReportService.BULK_DELETE_MAX_ATTEMPTS)).softDeleteByEmployeeCode(eq("2"),
+                any(), eq(ReportService.BULK_DELETE_CHUNK_SIZE));
+        verify(reportSearchIndex).deleteByEmployeeCode("2");
+
+        when(reportRepository.softDeleteByEmployeeCode(eq("3"), any(), eq(ReportService.BULK_DELETE_CHUNK_SIZE)))
+                .thenThrow(new DataAccessResourceFailureException("Communications link failure"));
+        assertThrows(DataAccessResourceFailureException.class, () -> service.deleteByEmployeeCode("3"));
+        verify(reportRepository, times(1)).softDeleteByEmployeeCode(eq("3"), any(),
+                eq(ReportService.BULK_DELETE_CHUNK_SIZE));
+    }
+}
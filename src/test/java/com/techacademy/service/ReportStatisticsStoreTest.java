@@ -0,0 +1,64 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class ReportStatisticsStoreTest {
+
+    // 2025-04-07 は月曜日
+    private static final LocalDate MONDAY = LocalDate.of(2025, 4, 7);
+
+    // 期間内の提出件数と期限内提出率 (日付より後に登録したものは期限外)
+    @Test
+    void testCountAndOnTimeRate() {
+        ReportStatisticsStore store = new ReportStatisticsStore(null, null, true);
+        store.add("1", MONDAY, MONDAY.atTime(18, 0));
+        store.add("1", MONDAY.plusDays(1), MONDAY.plusDays(2).atTime(9, 0));
+        store.add("1", MONDAY.plusWeeks(1), MONDAY.plusWeeks(1).atTime(18, 0));
+        store.add("2", MONDAY, MONDAY.atTime(18, 0));
+
+        assertEquals(2, store.countByEmployee(MONDAY, MONDAY.plusDays(6)).get("1"));
+        assertEquals(1, store.countByEmployee(MONDAY, MONDAY.plusDays(6)).get("2"));
+        assertEquals(50, store.onTimeRateByEmployee(MONDAY, MONDAY.plusDays(6)).get("1"));
+        assertNull(store.onTimeRateByEmployee(MONDAY.plusWeeks(1), MONDAY.plusWeeks(2)).get("2"));
+    }
+
+    // 日付変更・削除・従業員単位の削除が反映されること
+    @Test
+    void testMoveAndRemove() {
+        ReportStatisticsStore store = new ReportStatisticsStore(null, null, true);
+        LocalDateTime createdAt = MONDAY.atTime(18, 0);
+        store.add("1", MONDAY, createdAt);
+        store.add("1", MONDAY.plusDays(1), createdAt);
+        store.add("2", MONDAY, createdAt);
+
+        store.move("1", MONDAY.plusDays(1), MONDAY.plusWeeks(1), createdAt);
+        assertEquals(1, store.countByEmployee(MONDAY, MONDAY.plusDays(6)).get("1"));
+        assertEquals(1, store.countByEmployee(MONDAY.plusWeeks(1), MONDAY.plusWeeks(1)).get("1"));
+
+        store.remove("1", MONDAY);
+        assertEquals(0, store.countByEmployee(MONDAY, MONDAY.plusDays(6)).get("1"));
+
+        store.removeEmployee("2");
+        assertNull(store.countByEmployee(MONDAY, MONDAY.plusDays(6)).get("2"));
+    }
+
+    // 連続提出日数 (土日は途切れとせず、当日が未提出なら前日までで数える)
+    @Test
+    void testStreak() {
+        ReportStatisticsStore store = new ReportStatisticsStore(null, null, true);
+        LocalDate friday = MONDAY.minusDays(3);
+        store.add("1", friday.minusDays(1), null);
+        store.add("1", friday, null);
+        store.add("1", MONDAY, null);
+
+        assertEquals(3, store.streakByEmployee(MONDAY).get("1"));
+        assertEquals(3, store.streakByEmployee(MONDAY.plusDays(1)).get("1"));
+        assertEquals(0, store.streakByEmployee(MONDAY.plusDays(2)).get("1"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ReportSubmissionIndexTest {
+
+    // 2025-04-07 は月曜日
+    private static final LocalDate MONDAY = LocalDate.of(2025, 4, 7);
+
+    // 登録済みの有効な従業員のうち、その日の日報がない従業員が未提出者になること
+    @Test
+    void testMissingOn() {
+        ReportSubmissionIndex index = new ReportSubmissionIndex(null, null, null, true);
+        index.enroll("1", MONDAY.atStartOfDay());
+        index.enroll("2", MONDAY.atStartOfDay());
+        index.enroll("3", MONDAY.plusDays(1).atTime(9, 0));
+        index.add("1", MONDAY);
+
+        assertEquals(List.of("2"), index.missingOn(MONDAY)); // 3 は翌日の登録
+        assertEquals(List.of("1", "2", "3"), index.missingOn(MONDAY.plusDays(1)));
+
+        index.withdraw("2");
+        assertEquals(List.of(), index.missingOn(MONDAY));
+    }
+
+    // 日付変更・削除・従業員単位の削除が反映されること
+    @Test
+    void testMoveAndRemove() {
+        ReportSubmissionIndex index = new ReportSubmissionIndex(null, null, null, true);
+        index.enroll("1", MONDAY.atStartOfDay());
+        index.add("1", MONDAY);
+        index.add("1", MONDAY.plusDays(1));
+
+        index.move("1", MONDAY.plusDays(1), MONDAY.plusDays(2));
+        assertEquals(List.of("1"), index.missingOn(MONDAY.plusDays(1)));
+        assertEquals(List.of(), index.missingOn(MONDAY.plusDays(2)));
+
+        index.remove("1", MONDAY);
+        assertEquals(List.of("1"), index.missingOn(MONDAY));
+
+        index.removeEmployee("1");
+        assertEquals(List.of("1"), index.missingOn(MONDAY.plusDays(2)));
+    }
+
+    // 期間の未提出日数・日ごとの未提出者数は平日のみ数えること
+    @Test
+    void testMissingOverRange() {
+        ReportSubmissionIndex index = new ReportSubmissionIndex(null, null, null, true);
+        index.enroll("1", MONDAY.atStartOfDay());
+        index.enroll("2", MONDAY.atStartOfDay());
+        for (int i = 0; i < 5; i++) {
+            index.add("1", MONDAY.plusDays(i));
+        }
+        index.add("2", MONDAY);
+
+        Map<String, Integer> days = index.missingDaysByEmployee(MONDAY, MONDAY.plusDays(6));
+        assertNull(days.get("1"));
+        assertEquals(4, days.get("2"));
+
+        Map<LocalDate, Integer> counts = index.missingCountByDate(MONDAY, MONDAY.plusDays(6));
+        assertEquals(5, counts.size());
+        assertEquals(0, counts.get(MONDAY));
+        assertEquals(1, counts.get(MONDAY.plusDays(4)));
+    }
+
+    // 作成に失敗しても例外を投げず、未作成のまま差分の反映・再作成を続けられること
+    @Test
+    void testRebuildFailure() {
+        ReportSubmissionIndex index = new ReportSubmissionIndex(null, null, null, true);
+        index.rebuild(); // トランザクションマネージャーがないため失敗する
+        assertFalse(index.isReady());
+
+        index.enroll("1", MONDAY.atStartOfDay());
+        assertEquals(List.of("1"), index.missingOn(MONDAY));
+
+        index.rebuild(); // 再作成中のまま残らない
+        assertFalse(index.isReady());
+    }
+}
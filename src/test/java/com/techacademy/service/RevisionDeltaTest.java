@@ -0,0 +1,43 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class RevisionDeltaTest {
+
+    private static void assertRoundTrip(String previous, String current) {
+        assertEquals(current, RevisionDelta.apply(previous, RevisionDelta.diff(previous, current)));
+    }
+
+    @Test
+    void keepsOnlyChangedMiddle() {
+        assertEquals("7:3:後は会議", RevisionDelta.diff("本日の作業:午前は開発。以上", "本日の作業:午後は会議。以上"));
+        assertEquals("3:0:", RevisionDelta.diff("abc", "abc"));
+        assertEquals("0:0:new", RevisionDelta.diff("", "new"));
+    }
+
+    @Test
+    void restoresCurrentFromPrevious() {
+        assertRoundTrip("本日の作業:午前は開発。以上", "本日の作業:午後は会議。以上");
+        assertRoundTrip("abc", "abc");
+        assertRoundTrip("", "new");
+        assertRoundTrip("old", "");
+        assertRoundTrip("aaaa", "aa");
+        assertRoundTrip("aa", "aaaa");
+        assertRoundTrip("abcabc", "abc");
+    }
+
+    @Test
+    void doesNotSplitSurrogatePairs() {
+        // 𠮷 (U+20BB7) と 𠮟 (U+20B9F) は上位サロゲートが同じ
+        String delta = RevisionDelta.diff("𠮷野家", "𠮟野家");
+        assertEquals("0:2:𠮟", delta);
+        assertRoundTrip("𠮷野家", "𠮟野家");
+        // U+1FBB7 と U+20BB7 は下位サロゲートが同じ
+        String previous = "a" + Character.toString(0x1FBB7);
+        String current = "a" + Character.toString(0x20BB7);
+        assertEquals("1:0:" + Character.toString(0x20BB7), RevisionDelta.diff(previous, current));
+        assertRoundTrip(previous, current);
+    }
+}
@@ -0,0 +1,81 @@
+package com.techacademy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.techacademy.entity.Employee;
+import com.techacademy.entity.Employee.Role;
+
+class UserDetailCacheTest {
+
+    private UserDetail userDetail(String code) {
+        Employee employee = new Employee();
+        employee.setCode(code);
+        employee.setName("テスト太郎");
+        employee.setRole(Role.GENERAL);
+        employee.setPassword("");
+        LocalDateTime now = LocalDateTime.now();
+        employee.setCreatedAt(now);
+        employee.setUpdatedAt(now);
+        return new UserDetail(employee);
+    }
+
+    // 登録した情報を取得できること
+    @Test
+    void testHitAndMiss() {
+        UserDetailCache cache = new UserDetailCache(10, 300);
+        UserDetail detail = userDetail("1");
+
+        assertNull(cache.get("1"));
+        cache.put("1", detail, cache.currentGeneration());
+        assertSame(detail, cache.get("1"));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    // 件数上限を超えた場合は最も古く参照されたものから追い出されること
+    @Test
+    void testEviction() {
+        UserDetailCache cache = new UserDetailCache(2, 300);
+        cache.put("1", userDetail("1"), cache.currentGeneration());
+        cache.put("2", userDetail("2"), cache.currentGeneration());
+        cache.get("1");
+        cache.put("3", userDetail("3"), cache.currentGeneration());
+
+        assertNull(cache.get("2"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    // 有効期限切れの情報は返さないこと
+    @Test
+    void testExpiration() {
+        UserDetailCache cache = new UserDetailCache(10, 0);
+        cache.put("1", userDetail("1"), cache.currentGeneration());
+
+        assertNull(cache.get("1"));
+        assertEquals(1, cache.getExpirationCount());
+    }
+
+    // 無効化後は取得できず、無効化前に読み込んだ古い情報も登録されないこと
+    @Test
+    void testInvalidate() {
+        UserDetailCache cache = new UserDetailCache(10, 300);
+        cache.put("1", userDetail("1"), cache.currentGeneration());
+
+        long generation = cache.currentGeneration();
+        cache.invalidate("1");
+        assertNull(cache.get("1"));
+
+        cache.put("1", userDetail("1"), generation);
+        assertNull(cache.get("1"));
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+}